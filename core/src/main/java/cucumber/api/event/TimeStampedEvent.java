@@ -1,6 +1,10 @@
 package cucumber.api.event;
 
-abstract class TimeStampedEvent implements Event {
+/**
+ * Base class of the events sent by cucumber. Handlers registered for this
+ * class receive all of them.
+ */
+public abstract class TimeStampedEvent implements Event {
     private final Long timeStamp;
 
     TimeStampedEvent(Long timeStamp) {
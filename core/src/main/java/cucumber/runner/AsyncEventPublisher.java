@@ -0,0 +1,127 @@
+package cucumber.runner;
+
+import cucumber.api.event.Event;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.EventPublisher;
+import cucumber.api.event.TestRunFinished;
+import cucumber.runtime.CucumberException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Delivers the events of a single plugin on a thread of its own.
+ * <p>
+ * Events are put in a bounded queue in the order they are sent and handed to
+ * the plugin by a consumer thread. When the queue is full, sending an event
+ * blocks until the plugin has caught up. On {@link TestRunFinished} the sender
+ * waits until the plugin has handled all events, so reports are complete when
+ * the run ends. Any exception thrown by the plugin is rethrown at that point.
+ */
+public final class AsyncEventPublisher implements EventPublisher {
+    private static final int CAPACITY = 1024;
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<Object>(CAPACITY);
+    private final EventBus handlers = new EventBus(TimeService.SYSTEM);
+    private final String name;
+    private Thread consumer;
+    private volatile Throwable error;
+
+    public AsyncEventPublisher(EventPublisher publisher, String name) {
+        this.name = name;
+        publisher.registerHandlerFor(Event.class, new EventHandler<Event>() {
+            @Override
+            public void receive(Event event) {
+                enqueue(event);
+                if (event instanceof TestRunFinished) {
+                    flush();
+                }
+            }
+        });
+    }
+
+    @Override
+    public <T extends Event> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        handlers.registerHandlerFor(eventType, handler);
+    }
+
+    private synchronized void enqueue(Object item) {
+        if (consumer == null) {
+            startConsumer();
+        }
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        }
+    }
+
+    private void flush() {
+        Barrier barrier = new Barrier();
+        enqueue(barrier);
+        try {
+            barrier.latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        }
+        synchronized (this) {
+            // The consumer stops at the barrier. Start a new one for events sent in the meantime.
+            consumer = null;
+            if (!queue.isEmpty()) {
+                startConsumer();
+            }
+        }
+        Throwable failure = error;
+        error = null;
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new CucumberException(failure);
+        }
+    }
+
+    private void startConsumer() {
+        consumer = new Thread(new Consumer(), "cucumber-plugin-" + name);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    private void dispatch(Event event) {
+        try {
+            handlers.send(event);
+        } catch (Throwable t) {
+            if (error == null) {
+                error = t;
+            }
+        }
+    }
+
+    private static final class Barrier {
+        private final CountDownLatch latch = new CountDownLatch(1);
+    }
+
+    private final class Consumer implements Runnable {
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Object item = queue.take();
+                    if (item instanceof Barrier) {
+                        ((Barrier) item).latch.countDown();
+                        return;
+                    }
+                    dispatch((Event) item);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
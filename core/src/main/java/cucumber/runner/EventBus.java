@@ -5,13 +5,28 @@ import cucumber.api.event.EventHandler;
 import cucumber.api.event.EventPublisher;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Sends events to the handlers registered for their type.
+ * <p>
+ * A handler registered for a type receives the events of that type and all of
+ * its subtypes, e.g. a handler for {@link cucumber.api.event.TimeStampedEvent}
+ * receives every time stamped event. Handlers are called in the order they
+ * were registered.
+ * <p>
+ * The handlers for each concrete event class are resolved once and cached.
+ * Handlers may be registered while events are being sent.
+ */
 public class EventBus implements EventPublisher {
+    private static final EventHandler[] NO_HANDLERS = new EventHandler[0];
+
     private final TimeService stopWatch;
-    private Map<Class<? extends Event>, List<EventHandler>> handlers = new HashMap<Class<? extends Event>, List<EventHandler>>();
+    private final List<Registration> registrations = new CopyOnWriteArrayList<Registration>();
+    private volatile Map<Class<?>, EventHandler[]> dispatchTable = new ConcurrentHashMap<Class<?>, EventHandler[]>();
 
     public EventBus(TimeService stopWatch) {
         this.stopWatch = stopWatch;
@@ -22,22 +37,46 @@ public class EventBus implements EventPublisher {
     }
 
     public void send(Event event) {
-        if (handlers.containsKey(event.getClass())) {
-            for (EventHandler handler : handlers.get(event.getClass())) {
-                //noinspection unchecked: protected by registerHandlerFor
-                handler.receive(event);
-            }
+        for (EventHandler handler : handlersFor(event.getClass())) {
+            //noinspection unchecked: protected by registerHandlerFor
+            handler.receive(event);
         }
     }
 
     @Override
-    public <T extends Event> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
-        if (handlers.containsKey(eventType)) {
-            handlers.get(eventType).add(handler);
-        } else {
-            List<EventHandler> list = new ArrayList<EventHandler>();
-            list.add(handler);
-            handlers.put(eventType, list);
+    public synchronized <T extends Event> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+        registrations.add(new Registration(eventType, handler));
+        // Handlers are resolved again when the next event of each class is sent.
+        dispatchTable = new ConcurrentHashMap<Class<?>, EventHandler[]>();
+    }
+
+    private EventHandler[] handlersFor(Class<?> eventClass) {
+        Map<Class<?>, EventHandler[]> table = dispatchTable;
+        EventHandler[] handlers = table.get(eventClass);
+        if (handlers == null) {
+            handlers = resolveHandlers(eventClass);
+            table.put(eventClass, handlers);
+        }
+        return handlers;
+    }
+
+    private EventHandler[] resolveHandlers(Class<?> eventClass) {
+        List<EventHandler> handlers = new ArrayList<EventHandler>();
+        for (Registration registration : registrations) {
+            if (registration.eventType.isAssignableFrom(eventClass)) {
+                handlers.add(registration.handler);
+            }
+        }
+        return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(new EventHandler[handlers.size()]);
+    }
+
+    private static final class Registration {
+        private final Class<? extends Event> eventType;
+        private final EventHandler handler;
+
+        Registration(Class<? extends Event> eventType, EventHandler handler) {
+            this.eventType = eventType;
+            this.handler = handler;
         }
     }
 }
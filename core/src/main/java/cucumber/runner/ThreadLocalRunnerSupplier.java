@@ -0,0 +1,79 @@
+package cucumber.runner;
+
+import cucumber.api.event.Event;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestCaseFinished;
+import cucumber.runtime.BackendSupplier;
+import cucumber.runtime.RuntimeGlue;
+import cucumber.runtime.RuntimeOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates a distinct runner for each calling thread. Each runner has its own
+ * glue, backends and event bus.
+ * <p>
+ * The event bus of each runner collects all events of a test case and forwards
+ * them to the shared event bus in a single batch once the test case finishes.
+ * As a result plugins never observe the events of two test cases interleaved.
+ */
+public class ThreadLocalRunnerSupplier {
+    private final RuntimeOptions runtimeOptions;
+    private final EventBus sharedEventBus;
+    private final TimeService stopWatch;
+    private final BackendSupplier backendSupplier;
+
+    private final ThreadLocal<Runner> runners = new ThreadLocal<Runner>() {
+        @Override
+        protected Runner initialValue() {
+            return createRunner();
+        }
+    };
+
+    public ThreadLocalRunnerSupplier(RuntimeOptions runtimeOptions, EventBus sharedEventBus, TimeService stopWatch, BackendSupplier backendSupplier) {
+        this.runtimeOptions = runtimeOptions;
+        this.sharedEventBus = sharedEventBus;
+        this.stopWatch = stopWatch;
+        this.backendSupplier = backendSupplier;
+    }
+
+    public Runner get() {
+        return runners.get();
+    }
+
+    private Runner createRunner() {
+        EventBus localEventBus = new TestCaseBufferingEventBus(stopWatch, sharedEventBus);
+        return new Runner(new RuntimeGlue(), localEventBus, backendSupplier.get(), runtimeOptions);
+    }
+
+    private static final class TestCaseBufferingEventBus extends EventBus {
+        private final EventBus parent;
+        private final List<Event> queue = new ArrayList<Event>();
+
+        TestCaseBufferingEventBus(TimeService stopWatch, EventBus parent) {
+            super(stopWatch);
+            this.parent = parent;
+        }
+
+        @Override
+        public void send(Event event) {
+            queue.add(event);
+            if (event instanceof TestCaseFinished) {
+                synchronized (parent) {
+                    for (Event queuedEvent : queue) {
+                        parent.send(queuedEvent);
+                    }
+                }
+                queue.clear();
+            }
+        }
+
+        @Override
+        public <T extends Event> void registerHandlerFor(Class<T> eventType, EventHandler<T> handler) {
+            synchronized (parent) {
+                parent.registerHandlerFor(eventType, handler);
+            }
+        }
+    }
+}
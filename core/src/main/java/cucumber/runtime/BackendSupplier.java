@@ -0,0 +1,13 @@
+package cucumber.runtime;
+
+import java.util.Collection;
+
+/**
+ * Supplies the backends used by a {@link cucumber.runner.Runner}.
+ * <p>
+ * When scenarios are executed in parallel each thread needs its own
+ * backends, so each call may return a fresh collection.
+ */
+public interface BackendSupplier {
+    Collection<? extends Backend> get();
+}
@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Locale;
 
 public class PickleStepDefinitionMatch extends Match implements StepDefinitionMatch {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final StepDefinition stepDefinition;
     private final transient String featurePath;
     // The official JSON gherkin format doesn't have a step attribute, so we're marking this as transient
@@ -27,16 +29,18 @@ public class PickleStepDefinitionMatch extends Match implements StepDefinitionMa
 
     @Override
     public void runStep(String language, Scenario scenario) throws Throwable {
-        int argumentCount = getArguments().size();
+        List<Argument> arguments = getArguments();
+        int argumentCount = arguments.size();
 
         Integer parameterCount = stepDefinition.getParameterCount();
         if (parameterCount != null && argumentCount != parameterCount) {
             throw arityMismatch(parameterCount);
         }
-        List<Object> result = new ArrayList<Object>();
+        // Arguments are converted here rather than when matching, so a dry run never converts them.
+        Object[] result = argumentCount == 0 ? NO_ARGUMENTS : new Object[argumentCount];
         try {
-            for (Argument argument : getArguments()) {
-                result.add(argument.getValue());
+            for (int i = 0; i < argumentCount; i++) {
+                result[i] = arguments.get(i).getValue();
             }
         } catch (UndefinedDataTableTypeException e) {
             throw registerTypeInConfiguration(e);
@@ -47,7 +51,7 @@ public class PickleStepDefinitionMatch extends Match implements StepDefinitionMa
         }
 
         try {
-            stepDefinition.execute(language, result.toArray(new Object[result.size()]));
+            stepDefinition.execute(language, result);
         } catch (CucumberException e) {
             throw e;
         } catch (Throwable t) {
@@ -1,27 +1,30 @@
 package cucumber.runtime;
 
-import cucumber.api.TypeRegistryConfigurer;
 import cucumber.api.StepDefinitionReporter;
+import cucumber.api.event.EventHandler;
 import cucumber.api.event.TestRunFinished;
 import cucumber.runner.EventBus;
 import cucumber.runner.Runner;
+import cucumber.runner.ThreadLocalRunnerSupplier;
 import cucumber.runner.TimeService;
-import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.io.ZipIndexScope;
 import cucumber.runtime.model.CucumberFeature;
 import gherkin.events.PickleEvent;
-import gherkin.pickles.Compiler;
 import gherkin.pickles.Pickle;
-import io.cucumber.stepexpression.TypeRegistry;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
-import static java.util.Collections.singletonList;
-
 /**
  * This is the main entry point for running Cucumber features.
  */
@@ -33,13 +36,15 @@ public class Runtime {
 
     private final ResourceLoader resourceLoader;
     private final ClassLoader classLoader;
-    private final Runner runner;
+    private final Glue glue;
+    private final BackendSupplier backendSupplier;
+    private Runner runner;
+    private final ThreadLocalRunnerSupplier runnerSupplier;
     private final List<PicklePredicate> filters;
     private final EventBus bus;
-    private final Compiler compiler = new Compiler();
 
     public Runtime(ResourceLoader resourceLoader, ClassFinder classFinder, ClassLoader classLoader, RuntimeOptions runtimeOptions) {
-        this(resourceLoader, classLoader, loadBackends(resourceLoader, classFinder, runtimeOptions), runtimeOptions);
+        this(resourceLoader, classLoader, new BackendModuleBackendSupplier(resourceLoader, classFinder, runtimeOptions), runtimeOptions, TimeService.SYSTEM, null);
     }
 
     public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, Collection<? extends Backend> backends, RuntimeOptions runtimeOptions) {
@@ -53,40 +58,84 @@ public class Runtime {
 
     public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, Collection<? extends Backend> backends,
                    RuntimeOptions runtimeOptions, TimeService stopWatch, Glue optionalGlue) {
-        if (backends.isEmpty()) {
-            throw new CucumberException("No backends were found. Please make sure you have a backend module on your CLASSPATH.");
-        }
-        this.resourceLoader = resourceLoader;
-        this.classLoader = classLoader;
-        this.runtimeOptions = runtimeOptions;
-        final Glue glue;
-        glue = optionalGlue == null ? new RuntimeGlue() : optionalGlue;
-        this.bus = new EventBus(stopWatch);
-        this.runner = new Runner(glue, bus, backends, runtimeOptions);
-        this.filters = new ArrayList<PicklePredicate>();
-        List<String> tagFilters = runtimeOptions.getTagFilters();
-        if (!tagFilters.isEmpty()) {
-            this.filters.add(new TagPredicate(tagFilters));
-        }
-        List<Pattern> nameFilters = runtimeOptions.getNameFilters();
-        if (!nameFilters.isEmpty()) {
-            this.filters.add(new NamePredicate(nameFilters));
-        }
-        Map<String, List<Long>> lineFilters = runtimeOptions.getLineFilters(resourceLoader);
-        if (!lineFilters.isEmpty()) {
-            this.filters.add(new LinePredicate(lineFilters));
+        this(resourceLoader, classLoader, fixedBackends(backends, runtimeOptions), runtimeOptions, stopWatch, optionalGlue);
+    }
+
+    public Runtime(ResourceLoader resourceLoader, ClassLoader classLoader, BackendSupplier backendSupplier,
+                   RuntimeOptions runtimeOptions, TimeService stopWatch, Glue optionalGlue) {
+        // Keeps the jars scanned for glue and features open until the run is finished
+        final ZipIndexScope zipIndexScope = ZipIndexScope.open();
+        try {
+            if (runtimeOptions.getThreads() > 1 && optionalGlue != null) {
+                throw new CucumberException("Scenarios can not be executed in parallel with a predefined glue.");
+            }
+            this.resourceLoader = resourceLoader;
+            this.classLoader = classLoader;
+            this.runtimeOptions = runtimeOptions;
+            this.glue = optionalGlue == null ? new RuntimeGlue() : optionalGlue;
+            this.backendSupplier = checkedBackends(backendSupplier);
+            this.bus = new EventBus(stopWatch);
+            // In parallel every thread loads the glue into a runner of its own,
+            // so the runner of the calling thread is only created when it is used
+            if (runtimeOptions.getThreads() == 1) {
+                this.runner = createRunner();
+            }
+            this.runnerSupplier = new ThreadLocalRunnerSupplier(runtimeOptions, bus, stopWatch, this.backendSupplier);
+            this.filters = new ArrayList<PicklePredicate>();
+            List<String> tagFilters = runtimeOptions.getTagFilters();
+            if (!tagFilters.isEmpty()) {
+                this.filters.add(new TagPredicate(tagFilters));
+            }
+            List<Pattern> nameFilters = runtimeOptions.getNameFilters();
+            if (!nameFilters.isEmpty()) {
+                this.filters.add(new NamePredicate(nameFilters));
+            }
+            Map<String, List<Long>> lineFilters = runtimeOptions.getLineFilters(resourceLoader);
+            if (!lineFilters.isEmpty()) {
+                this.filters.add(new LinePredicate(lineFilters));
+            }
+
+            exitStatus.setEventPublisher(bus);
+            runtimeOptions.setEventBus(bus);
+            bus.registerHandlerFor(TestRunFinished.class, new EventHandler<TestRunFinished>() {
+                @Override
+                public void receive(TestRunFinished event) {
+                    zipIndexScope.close();
+                }
+            });
+        } catch (RuntimeException e) {
+            zipIndexScope.close();
+            throw e;
         }
+    }
 
-        exitStatus.setEventPublisher(bus);
-        runtimeOptions.setEventBus(bus);
+    private static BackendSupplier checkedBackends(final BackendSupplier backendSupplier) {
+        return new BackendSupplier() {
+            @Override
+            public Collection<? extends Backend> get() {
+                Collection<? extends Backend> backends = backendSupplier.get();
+                if (backends.isEmpty()) {
+                    throw new CucumberException("No backends were found. Please make sure you have a backend module on your CLASSPATH.");
+                }
+                return backends;
+            }
+        };
+    }
+
+    private Runner createRunner() {
+        return new Runner(glue, bus, backendSupplier.get(), runtimeOptions);
     }
 
-    private static Collection<? extends Backend> loadBackends(ResourceLoader resourceLoader, ClassFinder classFinder, RuntimeOptions runtimeOptions) {
-        Reflections reflections = new Reflections(classFinder);
-        TypeRegistryConfigurer typeRegistryConfigurer = reflections.instantiateExactlyOneSubclass(TypeRegistryConfigurer.class, MultiLoader.packageName(runtimeOptions.getGlue()), new Class[0], new Object[0], new DefaultTypeRegistryConfiguration());
-        TypeRegistry typeRegistry = new TypeRegistry(typeRegistryConfigurer.locale());
-        typeRegistryConfigurer.configureTypeRegistry(typeRegistry);
-        return reflections.instantiateSubclasses(Backend.class, singletonList("cucumber.runtime"), new Class[]{ResourceLoader.class, TypeRegistry.class}, new Object[]{resourceLoader, typeRegistry});
+    private static BackendSupplier fixedBackends(final Collection<? extends Backend> backends, RuntimeOptions runtimeOptions) {
+        if (runtimeOptions.getThreads() > 1) {
+            throw new CucumberException("Scenarios can not be executed in parallel with a predefined collection of backends.");
+        }
+        return new BackendSupplier() {
+            @Override
+            public Collection<? extends Backend> get() {
+                return backends;
+            }
+        };
     }
 
     /**
@@ -100,31 +149,83 @@ public class Runtime {
 
         StepDefinitionReporter stepDefinitionReporter = runtimeOptions.stepDefinitionReporter(classLoader);
 
-        reportStepDefinitions(stepDefinitionReporter);
-
-        for (CucumberFeature cucumberFeature : features) {
-            runFeature(cucumberFeature);
+        if (runtimeOptions.getThreads() > 1) {
+            runFeaturesInParallel(features, stepDefinitionReporter);
+        } else {
+            reportStepDefinitions(stepDefinitionReporter);
+            for (CucumberFeature cucumberFeature : features) {
+                runFeature(cucumberFeature);
+            }
         }
 
         bus.send(new TestRunFinished(bus.getTime()));
     }
 
     public void reportStepDefinitions(StepDefinitionReporter stepDefinitionReporter) {
-        runner.reportStepDefinitions(stepDefinitionReporter);
+        getRunner().reportStepDefinitions(stepDefinitionReporter);
     }
 
     public void runFeature(CucumberFeature feature) {
         List<PickleEvent> pickleEvents = compileFeature(feature);
         for (PickleEvent pickleEvent : pickleEvents) {
             if (matchesFilters(pickleEvent)) {
-                runner.runPickle(pickleEvent);
+                getRunner().runPickle(pickleEvent);
+            }
+        }
+    }
+
+    private void runFeaturesInParallel(List<CucumberFeature> features, final StepDefinitionReporter stepDefinitionReporter) {
+        ExecutorService executor = Executors.newFixedThreadPool(runtimeOptions.getThreads(), new RunnerThreadFactory());
+        try {
+            // Reported from a runner of the pool, which then runs scenarios too
+            awaitExecution(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    runnerSupplier.get().reportStepDefinitions(stepDefinitionReporter);
+                }
+            }));
+            List<Future<?>> executions = new ArrayList<Future<?>>();
+            for (CucumberFeature feature : features) {
+                for (final PickleEvent pickleEvent : compileFeature(feature)) {
+                    if (matchesFilters(pickleEvent)) {
+                        executions.add(executor.submit(new Runnable() {
+                            @Override
+                            public void run() {
+                                runnerSupplier.get().runPickle(pickleEvent);
+                            }
+                        }));
+                    }
+                }
+            }
+            for (Future<?> execution : executions) {
+                awaitExecution(execution);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitExecution(Future<?> execution) {
+        try {
+            execution.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CucumberException(cause);
         }
     }
 
     public List<PickleEvent> compileFeature(CucumberFeature feature) {
         List<PickleEvent> pickleEvents = new ArrayList<PickleEvent>();
-        for (Pickle pickle : compiler.compile(feature.getGherkinFeature())) {
+        for (Pickle pickle : feature.getPickles()) {
             pickleEvents.add(new PickleEvent(feature.getUri(), pickle));
         }
         return pickleEvents;
@@ -144,14 +245,26 @@ public class Runtime {
     }
 
     public Glue getGlue() {
-        return runner.getGlue();
+        return getRunner().getGlue();
     }
 
     public EventBus getEventBus() {
         return bus;
     }
 
-    public Runner getRunner() {
+    public synchronized Runner getRunner() {
+        if (runner == null) {
+            runner = createRunner();
+        }
         return runner;
     }
+
+    private static final class RunnerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "cucumber-runner-" + threadNumber.getAndIncrement());
+        }
+    }
 }
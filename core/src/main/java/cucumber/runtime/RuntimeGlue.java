@@ -7,18 +7,22 @@ import gherkin.pickles.PickleStep;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 public class RuntimeGlue implements Glue {
     final Map<String, StepDefinition> stepDefinitionsByPattern = new TreeMap<String, StepDefinition>();
+    final StepDefinitionIndex stepDefinitionIndex = new StepDefinitionIndex();
     final List<HookDefinition> beforeHooks = new ArrayList<HookDefinition>();
     final List<HookDefinition> beforeStepHooks = new ArrayList<HookDefinition>();
     final List<HookDefinition> afterHooks = new ArrayList<HookDefinition>();
     final List<HookDefinition> afterStepHooks = new ArrayList<HookDefinition>();
     final Map<String, CacheEntry> matchedStepDefinitionsCache = new HashMap<String, CacheEntry>();
+    final Set<String> scenarioScopedPatterns = new HashSet<String>();
 
     @Override
     public void addStepDefinition(StepDefinition stepDefinition) {
@@ -27,6 +31,14 @@ public class RuntimeGlue implements Glue {
             throw new DuplicateStepDefinitionException(previous, stepDefinition);
         }
         stepDefinitionsByPattern.put(stepDefinition.getPattern(), stepDefinition);
+        stepDefinitionIndex.add(stepDefinition);
+
+        // Scenario scoped step definitions are usually added again with the same
+        // patterns for every scenario, in which case the cached matches stay valid.
+        // A new pattern may make a cached match ambiguous.
+        if (stepDefinition.isScenarioScoped() && scenarioScopedPatterns.add(stepDefinition.getPattern())) {
+            matchedStepDefinitionsCache.clear();
+        }
     }
 
     @Override
@@ -77,8 +89,8 @@ public class RuntimeGlue implements Glue {
         String stepText = step.getText();
 
         CacheEntry cacheEntry = matchedStepDefinitionsCache.get(stepText);
-        if (cacheEntry != null) {
-            return new PickleStepDefinitionMatch(Collections.<Argument>emptyList(), cacheEntry.stepDefinition, featurePath, step);
+        if (cacheEntry != null && rebind(cacheEntry)) {
+            return cachedStepDefinitionMatch(cacheEntry, featurePath, step);
         }
 
         List<PickleStepDefinitionMatch> matches = stepDefinitionMatches(featurePath, step);
@@ -91,18 +103,50 @@ public class RuntimeGlue implements Glue {
 
         PickleStepDefinitionMatch match = matches.get(0);
 
-        // We can only cache step definitions without arguments.
-        // DocString and TableArguments are not included in the stepText used as the cache key.
-        if(match.getArguments().isEmpty()) {
-            matchedStepDefinitionsCache.put(stepText, new CacheEntry(match.getStepDefinition()));
+        // Which step definition matches only depends on the step text. The arguments
+        // can only be reused when the step has no DocString or DataTable argument,
+        // because those are not included in the stepText used as the cache key.
+        cacheEntry = new CacheEntry(match.getStepDefinition());
+        if (step.getArgument().isEmpty()) {
+            cacheEntry.arguments = Collections.unmodifiableList(match.getArguments());
         }
+        matchedStepDefinitionsCache.put(stepText, cacheEntry);
 
         return match;
     }
 
-    private List<PickleStepDefinitionMatch> stepDefinitionMatches(String featurePath, PickleStep step) {
+    /**
+     * Points a cache entry for a scenario scoped step definition to the step
+     * definition currently registered for its pattern.
+     *
+     * @return false if no step definition is registered for the pattern anymore
+     */
+    private boolean rebind(CacheEntry cacheEntry) {
+        if (!cacheEntry.stepDefinition.isScenarioScoped()) {
+            return true;
+        }
+        StepDefinition current = stepDefinitionsByPattern.get(cacheEntry.stepDefinition.getPattern());
+        if (current == null) {
+            return false;
+        }
+        cacheEntry.stepDefinition = current;
+        return true;
+    }
+
+    private PickleStepDefinitionMatch cachedStepDefinitionMatch(CacheEntry cacheEntry, String featurePath, PickleStep step) {
+        if (!step.getArgument().isEmpty()) {
+            List<Argument> arguments = cacheEntry.stepDefinition.matchedArguments(step);
+            return new PickleStepDefinitionMatch(arguments, cacheEntry.stepDefinition, featurePath, step);
+        }
+        if (cacheEntry.arguments == null) {
+            cacheEntry.arguments = Collections.unmodifiableList(cacheEntry.stepDefinition.matchedArguments(step));
+        }
+        return new PickleStepDefinitionMatch(cacheEntry.arguments, cacheEntry.stepDefinition, featurePath, step);
+    }
+
+    List<PickleStepDefinitionMatch> stepDefinitionMatches(String featurePath, PickleStep step) {
         List<PickleStepDefinitionMatch> result = new ArrayList<PickleStepDefinitionMatch>();
-        for (StepDefinition stepDefinition : stepDefinitionsByPattern.values()) {
+        for (StepDefinition stepDefinition : stepDefinitionIndex.candidates(step.getText())) {
             List<Argument> arguments = stepDefinition.matchedArguments(step);
             if (arguments != null) {
                 result.add(new PickleStepDefinitionMatch(arguments, stepDefinition, featurePath, step));
@@ -143,14 +187,7 @@ public class RuntimeGlue implements Glue {
             StepDefinition stepDefinition = stepdefs.next().getValue();
             if (stepDefinition.isScenarioScoped()) {
                 stepdefs.remove();
-            }
-        }
-
-        Iterator<Map.Entry<String, CacheEntry>> cachedStepDefs = matchedStepDefinitionsCache.entrySet().iterator();
-        while(cachedStepDefs.hasNext()){
-            StepDefinition stepDefinition = cachedStepDefs.next().getValue().stepDefinition;
-            if(stepDefinition.isScenarioScoped()){
-                cachedStepDefs.remove();
+                stepDefinitionIndex.remove(stepDefinition);
             }
         }
     }
@@ -158,6 +195,7 @@ public class RuntimeGlue implements Glue {
     static final class CacheEntry {
 
         StepDefinition stepDefinition;
+        List<Argument> arguments;
 
         private CacheEntry(StepDefinition stepDefinition) {
             this.stepDefinition = stepDefinition;
@@ -9,10 +9,12 @@ import cucumber.api.event.TestRunStarted;
 import cucumber.api.formatter.ColorAware;
 import cucumber.api.formatter.Formatter;
 import cucumber.api.formatter.StrictAware;
+import cucumber.runner.AsyncEventPublisher;
 import cucumber.runner.EventBus;
 import cucumber.runtime.formatter.PluginFactory;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
+import cucumber.runtime.model.FeatureCache;
 import cucumber.runtime.model.PathWithLines;
 import cucumber.util.FixJava;
 import cucumber.util.Mapper;
@@ -20,6 +22,7 @@ import gherkin.GherkinDialect;
 import gherkin.GherkinDialectProvider;
 import gherkin.IGherkinDialectProvider;
 
+import java.io.File;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.lang.reflect.InvocationHandler;
@@ -72,6 +75,9 @@ public class RuntimeOptions {
     private boolean strict = false;
     private boolean monochrome = false;
     private SnippetType snippetType = SnippetType.UNDERSCORE;
+    private int threads = 1;
+    private boolean asyncPlugins;
+    private String cacheDirectory;
     private boolean pluginNamesInstantiated;
     private EventBus bus;
 
@@ -167,6 +173,16 @@ public class RuntimeOptions {
             } else if (arg.equals("--snippets")) {
                 String nextArg = args.remove(0);
                 snippetType = SnippetType.fromString(nextArg);
+            } else if (arg.equals("--threads")) {
+                String threads = args.remove(0);
+                this.threads = Integer.parseInt(threads);
+                if (this.threads < 1) {
+                    throw new CucumberException("--threads must be > 0");
+                }
+            } else if (arg.equals("--no-async-plugins") || arg.equals("--async-plugins")) {
+                asyncPlugins = !arg.startsWith("--no-");
+            } else if (arg.equals("--cache")) {
+                cacheDirectory = args.remove(0);
             } else if (arg.equals("--name") || arg.equals("-n")) {
                 String nextArg = args.remove(0);
                 Pattern patternFilter = Pattern.compile(nextArg);
@@ -302,7 +318,8 @@ public class RuntimeOptions {
     }
 
     public List<CucumberFeature> cucumberFeatures(ResourceLoader resourceLoader, EventBus bus) {
-        List<CucumberFeature> features = load(resourceLoader, featurePaths, System.out);
+        FeatureCache featureCache = cacheDirectory == null ? null : new FeatureCache(new File(cacheDirectory));
+        List<CucumberFeature> features = load(resourceLoader, featurePaths, featureCache, System.out);
         getPlugins(); // to create the formatter objects
         bus.send(new TestRunStarted(bus.getTime()));
         for (CucumberFeature feature : features) {
@@ -385,7 +402,11 @@ public class RuntimeOptions {
     private void setEventBusOnEventListenerPlugins(Object plugin) {
         if (plugin instanceof EventListener && bus != null) {
             Formatter formatter = (Formatter) plugin;
-            formatter.setEventPublisher(bus);
+            if (asyncPlugins) {
+                formatter.setEventPublisher(new AsyncEventPublisher(bus, plugin.getClass().getSimpleName()));
+            } else {
+                formatter.setEventPublisher(bus);
+            }
         }
     }
 
@@ -401,6 +422,18 @@ public class RuntimeOptions {
         return dryRun;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isAsyncPlugins() {
+        return asyncPlugins;
+    }
+
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
     public List<String> getFeaturePaths() {
         return featurePaths;
     }
@@ -0,0 +1,123 @@
+package cucumber.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Indexes step definitions by the literal text their pattern starts with.
+ * <p>
+ * Both cucumber expressions and regular expressions have to match the whole
+ * step text. A step definition can therefore only match a step when the step
+ * text starts with the literal prefix of its pattern. The index stores step
+ * definitions in a trie keyed by that prefix, so looking up the candidates
+ * for a step only visits the definitions on the path spelled by the step text.
+ * <p>
+ * The prefix is computed conservatively. Definitions for which no prefix can
+ * be determined are stored at the root and are always a candidate.
+ */
+final class StepDefinitionIndex {
+    private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}/";
+    private static final String QUANTIFIERS = "?*+";
+    private static final String WHITESPACE = " \t\n\u000B\f\r";
+
+    private final Node root = new Node();
+
+    void add(StepDefinition stepDefinition) {
+        Node node = root;
+        String prefix = literalPrefix(stepDefinition.getPattern());
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        node.stepDefinitions.add(stepDefinition);
+    }
+
+    void remove(StepDefinition stepDefinition) {
+        Node node = root;
+        String prefix = literalPrefix(stepDefinition.getPattern());
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node != null) {
+            node.stepDefinitions.remove(stepDefinition);
+        }
+    }
+
+    /**
+     * Returns the step definitions that may match the step text, ordered by pattern.
+     *
+     * @param stepText the text of the step
+     * @return candidate step definitions
+     */
+    Collection<StepDefinition> candidates(String stepText) {
+        Map<String, StepDefinition> candidates = new TreeMap<String, StepDefinition>();
+        Node node = root;
+        int i = 0;
+        while (node != null) {
+            for (StepDefinition stepDefinition : node.stepDefinitions) {
+                candidates.put(stepDefinition.getPattern(), stepDefinition);
+            }
+            node = i < stepText.length() ? node.children.get(stepText.charAt(i++)) : null;
+        }
+        return candidates.values();
+    }
+
+    /**
+     * Returns the literal text that every step matched by the pattern must
+     * start with.
+     * <p>
+     * The pattern may be either a cucumber expression or a regular expression.
+     * The prefix ends before the first character that has a special meaning in
+     * either syntax. Unless the pattern is literal up to its end, the prefix is
+     * then cut back to the last whitespace because a quantifier or an
+     * alternative may apply to the word preceding it. Patterns containing
+     * a {@code |} are never indexed.
+     */
+    static String literalPrefix(String pattern) {
+        if (pattern.indexOf('|') >= 0) {
+            return "";
+        }
+        int start = pattern.startsWith("^") ? 1 : 0;
+        for (int i = start; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (SPECIAL_CHARACTERS.indexOf(c) < 0) {
+                continue;
+            }
+            if (c == '$' && i == pattern.length() - 1) {
+                return pattern.substring(start, i);
+            }
+            int end = isQuantifier(pattern, i) ? Math.max(start, i - 1) : i;
+            while (end > start && WHITESPACE.indexOf(pattern.charAt(end - 1)) < 0) {
+                end--;
+            }
+            return pattern.substring(start, end);
+        }
+        return pattern.substring(start);
+    }
+
+    private static boolean isQuantifier(String pattern, int i) {
+        char c = pattern.charAt(i);
+        if (c == '{') {
+            // A { that is not followed by a digit starts a parameter type
+            return i + 1 < pattern.length() && Character.isDigit(pattern.charAt(i + 1));
+        }
+        return QUANTIFIERS.indexOf(c) >= 0;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<Character, Node>();
+        private final List<StepDefinition> stepDefinitions = new ArrayList<StepDefinition>();
+
+        Node child(char c) {
+            Node child = children.get(c);
+            if (child == null) {
+                child = new Node();
+                children.put(c, child);
+            }
+            return child;
+        }
+    }
+}
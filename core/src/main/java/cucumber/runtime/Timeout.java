@@ -1,16 +1,40 @@
 package cucumber.runtime;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Timeout {
+    private static final long IDLE_TIMEOUT_MILLIS = 1000;
+
+    private static ScheduledThreadPoolExecutor executorService;
+
     private Timeout() {
     }
 
+    /**
+     * All timed invocations share a single timer thread. The thread is a daemon
+     * and is released when no timeouts have been scheduled for a while.
+     */
+    private static synchronized ScheduledThreadPoolExecutor executorService() {
+        if (executorService == null) {
+            executorService = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "cucumber-timeout");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            executorService.setKeepAliveTime(IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            executorService.allowCoreThreadTimeOut(true);
+        }
+        return executorService;
+    }
+
     public static <T> T timeout(Callback<T> callback, long timeoutMillis) throws Throwable {
         if (timeoutMillis == 0) {
             return callback.call();
@@ -25,7 +49,7 @@ public class Timeout {
         final Object monitor = new Object();
         final AtomicBoolean done = new AtomicBoolean();
 
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        ScheduledThreadPoolExecutor executorService = executorService();
         ScheduledFuture<?> timer = executorService.schedule(new Runnable() {
             @Override
             public void run() {
@@ -49,8 +73,9 @@ public class Timeout {
         } finally {
             synchronized (monitor) {
                 done.set(true);
-                timer.cancel(true);
-                executorService.shutdownNow();
+                // Don't interrupt the shared timer thread. Remove the cancelled timer so it doesn't linger in the queue.
+                timer.cancel(false);
+                executorService.remove((Runnable) timer);
                 // Clear the interrupted flag. It may have been set by the timer just before we returned the result.
                 Thread.interrupted();
             }
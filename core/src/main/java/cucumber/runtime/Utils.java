@@ -17,28 +17,47 @@ public class Utils {
 
     public static Object invoke(final Object target, final Method method, long timeoutMillis, final Object... args) throws Throwable {
         final Method targetMethod = targetMethod(target, method);
+        if (timeoutMillis == 0) {
+            return invokeAccessible(target, targetMethod, args);
+        }
         return Timeout.timeout(new Timeout.Callback<Object>() {
             @Override
             public Object call() throws Throwable {
-                boolean accessible = targetMethod.isAccessible();
-                try {
-                    targetMethod.setAccessible(true);
-                    return targetMethod.invoke(target, args);
-                } catch (IllegalArgumentException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(targetMethod) +
-                                                ", caused by " + e.getClass().getName() + ": " + e.getMessage(), e);
-                } catch (InvocationTargetException e) {
-                    throw e.getTargetException();
-                } catch (IllegalAccessException e) {
-                    throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(targetMethod) +
-                                                ", caused by " + e.getClass().getName() + ": " + e.getMessage(), e);
-                } finally {
-                    targetMethod.setAccessible(accessible);
-                }
+                return invokeAccessible(target, targetMethod, args);
             }
         }, timeoutMillis);
     }
 
+    /**
+     * Suppresses the access checks of the method so it can be invoked
+     * without checking access each time.
+     *
+     * @param method the method to make accessible
+     * @return the method
+     */
+    public static Method makeAccessible(Method method) {
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        return method;
+    }
+
+    private static Object invokeAccessible(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            // The method is left accessible. Restoring it after each invocation
+            // is costly and races with other threads invoking the same method.
+            return makeAccessible(method).invoke(target, args);
+        } catch (IllegalArgumentException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method) +
+                                        ", caused by " + e.getClass().getName() + ": " + e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } catch (IllegalAccessException e) {
+            throw new CucumberException("Failed to invoke " + MethodFormat.FULL.format(method) +
+                                        ", caused by " + e.getClass().getName() + ": " + e.getMessage(), e);
+        }
+    }
+
     private static Method targetMethod(final Object target, final Method method) throws NoSuchMethodException {
         final Class<?> targetClass = target.getClass();
         final Class<?> declaringClass = method.getDeclaringClass();
@@ -55,7 +55,7 @@ final class HTMLFormatter implements Formatter {
     private static final String JS_FORMATTER_VAR = "formatter";
     private static final String JS_REPORT_FILENAME = "report.js";
     private static final String[] TEXT_ASSETS = new String[]{"/cucumber/formatter/formatter.js", "/cucumber/formatter/index.html", "/cucumber/formatter/jquery-1.8.2.min.js", "/cucumber/formatter/style.css"};
-    private static final Map<String, String> MIME_TYPES_EXTENSIONS = new HashMap<String, String>() {
+    static final Map<String, String> MIME_TYPES_EXTENSIONS = new HashMap<String, String>() {
         {
             put("image/bmp", "bmp");
             put("image/gif", "gif");
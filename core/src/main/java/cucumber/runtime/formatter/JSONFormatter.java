@@ -17,6 +17,10 @@ import cucumber.api.event.TestStepStarted;
 import cucumber.api.event.WriteEvent;
 import cucumber.api.formatter.Formatter;
 import cucumber.api.formatter.NiceAppendable;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.Utils;
+import cucumber.runtime.io.URLOutputStream;
+import cucumber.runtime.io.UTF8OutputStreamWriter;
 import gherkin.ast.Background;
 import gherkin.ast.DocString;
 import gherkin.ast.Feature;
@@ -24,6 +28,7 @@ import gherkin.ast.ScenarioDefinition;
 import gherkin.ast.Step;
 import gherkin.deps.com.google.gson.Gson;
 import gherkin.deps.com.google.gson.GsonBuilder;
+import gherkin.deps.com.google.gson.stream.JsonWriter;
 import gherkin.deps.net.iharder.Base64;
 import gherkin.pickles.Argument;
 import gherkin.pickles.PickleCell;
@@ -32,14 +37,44 @@ import gherkin.pickles.PickleString;
 import gherkin.pickles.PickleTable;
 import gherkin.pickles.PickleTag;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Writes the results in the cucumber JSON format.
+ * <p>
+ * Each feature is written as soon as the next feature starts, so only the
+ * results of the current feature are kept in memory.
+ * <p>
+ * The formatter accepts these options:
+ * <ul>
+ * <li>{@code embeddings=DIR} writes embeddings to files in DIR and references
+ * them by their path relative to the report instead of inlining them as base64
+ * data. The files are named by the SHA-1 of their content, so reports that
+ * share DIR don't overwrite each other's embeddings.</li>
+ * <li>{@code embeddingsThreshold=BYTES} keeps inlining embeddings smaller than
+ * BYTES. Defaults to 0.</li>
+ * </ul>
+ * For example: {@code json:target/cucumber.json?embeddings=target/embeddings}
+ */
 final class JSONFormatter implements Formatter {
+    static final List<String> OPTIONS = Arrays.asList("embeddings", "embeddingsThreshold");
+
     private String currentFeatureFile;
-    private List<Map<String, Object>> featureMaps = new ArrayList<Map<String, Object>>();
+    private Map<String, Object> currentFeatureMap;
     private List<Map<String, Object>> currentElementsList;
     private Map<String, Object> currentElementMap;
     private Map<String, Object> currentTestCaseMap;
@@ -48,7 +83,12 @@ final class JSONFormatter implements Formatter {
     private Map<String, Object> currentBeforeStepHookList = new HashMap<String, Object>();
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final NiceAppendable out;
+    private final StringWriter buffer = new StringWriter();
+    private final JsonWriter jsonWriter = new JsonWriter(buffer);
     private final TestSourcesModel testSources = new TestSourcesModel();
+    private final URL reportUrl;
+    private final URL embeddingsDirUrl;
+    private final int embeddingsThreshold;
 
     private EventHandler<TestSourceRead> testSourceReadHandler = new EventHandler<TestSourceRead>() {
         @Override
@@ -95,7 +135,32 @@ final class JSONFormatter implements Formatter {
 
     @SuppressWarnings("WeakerAccess") // Used by PluginFactory
     public JSONFormatter(Appendable out) {
+        this(out, null, Collections.<String, String>emptyMap());
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by PluginFactory
+    public JSONFormatter(URL out, Map<String, String> options) throws IOException {
+        this(new UTF8OutputStreamWriter(new URLOutputStream(out)), out, options);
+    }
+
+    /**
+     * @param reportUrl the location of the report, or {@code null} if it is
+     *                  unknown. Embeddings are then referenced by their
+     *                  absolute location.
+     */
+    JSONFormatter(Appendable out, URL reportUrl, Map<String, String> options) {
         this.out = new NiceAppendable(out);
+        this.reportUrl = reportUrl;
+        String embeddingsDir = embeddingsDir(options);
+        this.embeddingsDirUrl = embeddingsDir == null ? null : Utils.toURL(embeddingsDir);
+        this.embeddingsThreshold = embeddingsThreshold(options);
+        // Same indent as Gson's pretty printing
+        jsonWriter.setIndent("  ");
+        try {
+            jsonWriter.beginArray();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
     }
 
     @Override
@@ -115,9 +180,9 @@ final class JSONFormatter implements Formatter {
 
     private void handleTestCaseStarted(TestCaseStarted event) {
         if (currentFeatureFile == null || !currentFeatureFile.equals(event.testCase.getUri())) {
+            writeCurrentFeature();
             currentFeatureFile = event.testCase.getUri();
-            Map<String, Object> currentFeatureMap = createFeatureMap(event.testCase);
-            featureMaps.add(currentFeatureMap);
+            currentFeatureMap = createFeatureMap(event.testCase);
             currentElementsList = (List<Map<String, Object>>) currentFeatureMap.get("elements");
         }
         currentTestCaseMap = createTestCase(event.testCase);
@@ -158,6 +223,31 @@ final class JSONFormatter implements Formatter {
         addOutputToHookMap(event.text);
     }
 
+    private static String embeddingsDir(Map<String, String> options) {
+        for (String option : options.keySet()) {
+            if (!OPTIONS.contains(option)) {
+                throw new CucumberException("Unknown option for the json plugin: " + option);
+            }
+        }
+        String embeddingsDir = options.get("embeddings");
+        if (embeddingsDir == null || embeddingsDir.isEmpty()) {
+            return null;
+        }
+        return embeddingsDir;
+    }
+
+    private static int embeddingsThreshold(Map<String, String> options) {
+        String embeddingsThreshold = options.get("embeddingsThreshold");
+        if (embeddingsThreshold == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(embeddingsThreshold);
+        } catch (NumberFormatException e) {
+            throw new CucumberException("embeddingsThreshold must be a number of bytes: " + embeddingsThreshold, e);
+        }
+    }
+
     private void handleEmbed(EmbedEvent event) {
         addEmbeddingToHookMap(event.data, event.mimeType);
     }
@@ -168,10 +258,31 @@ final class JSONFormatter implements Formatter {
     }
 
     private void finishReport() {
-        out.append(gson.toJson(featureMaps));
+        writeCurrentFeature();
+        try {
+            jsonWriter.endArray();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+        flushBuffer();
         out.close();
     }
 
+    private void writeCurrentFeature() {
+        if (currentFeatureMap == null) {
+            return;
+        }
+        gson.toJson(currentFeatureMap, currentFeatureMap.getClass(), jsonWriter);
+        currentFeatureMap = null;
+        flushBuffer();
+    }
+
+    private void flushBuffer() {
+        StringBuffer json = buffer.getBuffer();
+        out.append(json);
+        json.setLength(0);
+    }
+
     private Map<String, Object> createFeatureMap(TestCase testCase) {
         Map<String, Object> featureMap = new HashMap<String, Object>();
         featureMap.put("uri", testCase.getUri());
@@ -337,7 +448,12 @@ final class JSONFormatter implements Formatter {
         if (!currentStepOrHookMap.containsKey("embeddings")) {
             currentStepOrHookMap.put("embeddings", new ArrayList<Map<String, Object>>());
         }
-        Map<String, Object> embedMap = createEmbeddingMap(data, mimeType);
+        Map<String, Object> embedMap;
+        if (embeddingsDirUrl != null && data.length >= embeddingsThreshold) {
+            embedMap = createEmbeddingFileMap(data, mimeType);
+        } else {
+            embedMap = createEmbeddingMap(data, mimeType);
+        }
         ((List<Map<String, Object>>)currentStepOrHookMap.get("embeddings")).add(embedMap);
     }
 
@@ -348,6 +464,106 @@ final class JSONFormatter implements Formatter {
         return embedMap;
     }
 
+    private Map<String, Object> createEmbeddingFileMap(byte[] data, String mimeType) {
+        String extension = HTMLFormatter.MIME_TYPES_EXTENSIONS.get(mimeType);
+        String fileName = sha1(data) + (extension != null ? "." + extension : "");
+        URL embeddingUrl;
+        try {
+            embeddingUrl = new URL(embeddingsDirUrl, fileName);
+        } catch (MalformedURLException e) {
+            throw new CucumberException("Unable to write embedding: " + fileName, e);
+        }
+        writeEmbedding(data, embeddingUrl);
+        Map<String, Object> embedMap = new HashMap<String, Object>();
+        embedMap.put("mime_type", mimeType);
+        embedMap.put("path", path(reportUrl, embeddingUrl));
+        return embedMap;
+    }
+
+    private static String sha1(byte[] data) {
+        try {
+            return String.format("%040x", new BigInteger(1, MessageDigest.getInstance("SHA-1").digest(data)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static void writeEmbedding(byte[] data, URL embeddingUrl) {
+        if ("file".equals(embeddingUrl.getProtocol()) && new File(embeddingUrl.getFile()).isFile()) {
+            // The name is the hash of the content, so the file has this content already
+            return;
+        }
+        try {
+            OutputStream embeddingOut = new URLOutputStream(embeddingUrl);
+            try {
+                embeddingOut.write(data);
+            } finally {
+                embeddingOut.close();
+            }
+        } catch (IOException e) {
+            throw new CucumberException("Unable to write embedding: " + embeddingUrl, e);
+        }
+    }
+
+    /**
+     * @return the path of the embedding relative to the directory of the
+     * report, or its absolute location if they have no common base
+     */
+    static String path(URL reportUrl, URL embeddingUrl) {
+        List<String> embedding = segments(embeddingUrl);
+        String absolute = "file".equals(embeddingUrl.getProtocol()) ? join(embedding, 0) : embeddingUrl.toExternalForm();
+        if (reportUrl == null || !sameBase(reportUrl, embeddingUrl)) {
+            return absolute;
+        }
+        List<String> reportDir = segments(reportUrl);
+        reportDir = reportDir.subList(0, reportDir.size() - 1);
+        int common = 0;
+        while (common < reportDir.size() && common < embedding.size() - 1 && reportDir.get(common).equals(embedding.get(common))) {
+            common++;
+        }
+        if (common == 0) {
+            return absolute;
+        }
+        StringBuilder path = new StringBuilder();
+        for (int i = common; i < reportDir.size(); i++) {
+            path.append("../");
+        }
+        return path.append(join(embedding, common)).toString();
+    }
+
+    private static boolean sameBase(URL a, URL b) {
+        return a.getProtocol().equals(b.getProtocol())
+            && String.valueOf(a.getHost()).equals(String.valueOf(b.getHost()))
+            && a.getPort() == b.getPort();
+    }
+
+    /**
+     * @return the segments of the absolute path of the URL, without a
+     * trailing empty segment
+     */
+    private static List<String> segments(URL url) {
+        String path = url.getPath();
+        if ("file".equals(url.getProtocol())) {
+            path = new File(url.getFile()).getAbsolutePath().replace(File.separatorChar, '/');
+        }
+        List<String> segments = new ArrayList<String>(Arrays.asList(path.split("/", -1)));
+        if (segments.size() > 1 && segments.get(segments.size() - 1).isEmpty()) {
+            segments.remove(segments.size() - 1);
+        }
+        return segments;
+    }
+
+    private static String join(List<String> segments, int from) {
+        StringBuilder path = new StringBuilder();
+        for (int i = from; i < segments.size(); i++) {
+            if (i > from) {
+                path.append('/');
+            }
+            path.append(segments.get(i));
+        }
+        return path.toString();
+    }
+
     private Map<String, Object> createMatchMap(TestStep step, Result result) {
         Map<String, Object> matchMap = new HashMap<String, Object>();
         if(step instanceof PickleStepTestStep) {
@@ -19,6 +19,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,7 +33,10 @@ import static java.util.Arrays.asList;
  * <p>
  * The String is of the form name[:output] where name is either a fully qualified class name or one of the built-in
  * short names. The output is optional for some plugins (and mandatory for some).
- * </ul>
+ * <p>
+ * Some built-in plugins also accept options in the form name:output?key=value[&amp;key=value]*. The part after the
+ * last {@code ?} is only read as options when all its keys are options of the plugin. Otherwise it is part of the
+ * output, like the query of a URL.
  *
  * @see Plugin for specific requirements
  */
@@ -50,7 +56,11 @@ public final class PluginFactory {
         put("default_summary", DefaultSummaryPrinter.class);
         put("null_summary", NullSummaryPrinter.class);
     }};
+    private static final HashMap<Class<? extends Plugin>, List<String>> PLUGIN_OPTIONS = new HashMap<Class<? extends Plugin>, List<String>>() {{
+        put(JSONFormatter.class, JSONFormatter.OPTIONS);
+    }};
     private static final Pattern PLUGIN_WITH_ARGUMENT_PATTERN = Pattern.compile("([^:]+):(.*)");
+    private static final Pattern ARGUMENT_WITH_OPTIONS_PATTERN = Pattern.compile("(.+)\\?([^?]+)");
     private String defaultOutFormatter = null;
 
     private Appendable defaultOut = new PrintStream(System.out) {
@@ -82,6 +92,18 @@ public final class PluginFactory {
     }
 
     private <T extends Plugin> T instantiate(String pluginString, Class<T> pluginClass, String argument) throws IOException, URISyntaxException {
+        Constructor<T> withOptions = findOptionsConstructor(pluginClass);
+        if (withOptions != null && argument != null) {
+            Matcher argumentWithOptions = ARGUMENT_WITH_OPTIONS_PATTERN.matcher(argument);
+            if (argumentWithOptions.matches()) {
+                Map<String, String> options = parseOptions(argumentWithOptions.group(2));
+                if (PLUGIN_OPTIONS.get(pluginClass).containsAll(options.keySet())) {
+                    Object out = convertOrNull(argumentWithOptions.group(1), URL.class, pluginString);
+                    return newInstance(withOptions, out, options);
+                }
+            }
+        }
+
         Constructor<T> single = findSingleArgConstructor(pluginClass);
         Constructor<T> empty = findEmptyConstructor(pluginClass);
 
@@ -152,6 +174,30 @@ public final class PluginFactory {
         return constructor;
     }
 
+    private <T> Constructor<T> findOptionsConstructor(Class<T> pluginClass) {
+        if (!PLUGIN_OPTIONS.containsKey(pluginClass)) {
+            return null;
+        }
+        try {
+            return pluginClass.getConstructor(URL.class, Map.class);
+        } catch (NoSuchMethodException ignore) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseOptions(String options) {
+        Map<String, String> result = new LinkedHashMap<String, String>();
+        for (String option : options.split("&")) {
+            int separator = option.indexOf('=');
+            if (separator < 0) {
+                result.put(option, "");
+            } else {
+                result.put(option.substring(0, separator), option.substring(separator + 1));
+            }
+        }
+        return result;
+    }
+
     private <T> Constructor<T> findEmptyConstructor(Class<T> pluginClass) {
         try {
             return pluginClass.getConstructor();
@@ -0,0 +1,208 @@
+package cucumber.runtime.io;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Selects classes by the names their class files refer to, without loading
+ * them.
+ * <p>
+ * A class is accepted when the constant pool of its class file, or of the
+ * class file of one of its supertypes, contains a string that starts with one
+ * of the given prefixes. Class names use the internal form, so
+ * {@code "cucumber/api/java8/"} matches the classes that implement a java8
+ * glue interface and {@code "Lcucumber/api/java/"} matches the classes with
+ * members annotated with an annotation of that package.
+ * <p>
+ * Class files that can't be read or parsed are accepted.
+ */
+public final class ClassFileFilter {
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final String[] prefixes;
+
+    public ClassFileFilter(String... prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    String key() {
+        return Arrays.toString(prefixes);
+    }
+
+    Matcher matcher(ClassLoader classLoader) {
+        return new Matcher(classLoader);
+    }
+
+    /**
+     * Remembers the result for every class file it reads, so the supertypes
+     * shared by many classes are only read once.
+     */
+    final class Matcher {
+        private final ClassLoader classLoader;
+        private final Map<String, Boolean> matchesByClassName = new HashMap<String, Boolean>();
+
+        private Matcher(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * @param className the name of the class
+         * @param classFile the class file, is closed by this method
+         * @return true if the class or one of its supertypes refers to a name with one of the prefixes
+         */
+        boolean matches(String className, InputStream classFile) {
+            String internalName = className.replace('.', '/');
+            Boolean matches = matchesByClassName.get(internalName);
+            if (matches == null) {
+                matches = read(classFile);
+                matchesByClassName.put(internalName, matches);
+            } else {
+                close(classFile);
+            }
+            return matches;
+        }
+
+        private boolean matchesSupertype(String internalName) {
+            if (internalName.startsWith("java/")) {
+                return false;
+            }
+            Boolean matches = matchesByClassName.get(internalName);
+            if (matches == null) {
+                // Prevents endless recursion on malformed hierarchies
+                matchesByClassName.put(internalName, false);
+                InputStream classFile = classLoader.getResourceAsStream(internalName + ".class");
+                matches = classFile == null ? Boolean.FALSE : read(classFile);
+                matchesByClassName.put(internalName, matches);
+            }
+            return matches;
+        }
+
+        private boolean read(InputStream classFile) {
+            ClassFile parsed;
+            try {
+                parsed = ClassFile.parse(new DataInputStream(new BufferedInputStream(classFile)));
+            } catch (IOException e) {
+                return true;
+            } finally {
+                close(classFile);
+            }
+            if (parsed == null) {
+                return true;
+            }
+            for (String constant : parsed.constants) {
+                if (constant != null && startsWithPrefix(constant)) {
+                    return true;
+                }
+            }
+            for (String supertype : parsed.supertypes) {
+                if (supertype != null && matchesSupertype(supertype)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean startsWithPrefix(String constant) {
+            for (String prefix : prefixes) {
+                if (constant.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static void close(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static final class ClassFile {
+        private final String[] constants;
+        private final String[] supertypes;
+
+        private ClassFile(String[] constants, String[] supertypes) {
+            this.constants = constants;
+            this.supertypes = supertypes;
+        }
+
+        /**
+         * Reads the constant pool, the super class and the interfaces.
+         *
+         * @return the class file or null when the class file has an unknown format
+         */
+        static ClassFile parse(DataInputStream in) throws IOException {
+            if (in.readInt() != MAGIC) {
+                return null;
+            }
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+            int constantPoolCount = in.readUnsignedShort();
+            String[] utf8 = new String[constantPoolCount];
+            int[] classNameIndexes = new int[constantPoolCount];
+            for (int i = 1; i < constantPoolCount; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        utf8[i] = in.readUTF();
+                        break;
+                    case 7: // Class
+                        classNameIndexes[i] = in.readUnsignedShort();
+                        break;
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        in.skipBytes(2);
+                        break;
+                    case 15: // MethodHandle
+                        in.skipBytes(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        in.skipBytes(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        in.skipBytes(8);
+                        // Takes up two entries in the constant pool
+                        i++;
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            in.readUnsignedShort(); // access flags
+            in.readUnsignedShort(); // this class
+            int superClass = in.readUnsignedShort();
+            int interfacesCount = in.readUnsignedShort();
+            String[] supertypes = new String[interfacesCount + 1];
+            supertypes[0] = className(utf8, classNameIndexes, superClass);
+            for (int i = 0; i < interfacesCount; i++) {
+                supertypes[i + 1] = className(utf8, classNameIndexes, in.readUnsignedShort());
+            }
+            return new ClassFile(utf8, supertypes);
+        }
+
+        private static String className(String[] utf8, int[] classNameIndexes, int classIndex) {
+            if (classIndex <= 0 || classIndex >= classNameIndexes.length) {
+                return null;
+            }
+            int nameIndex = classNameIndexes[classIndex];
+            return nameIndex > 0 && nameIndex < utf8.length ? utf8[nameIndex] : null;
+        }
+    }
+}
@@ -7,6 +7,10 @@ public class ClasspathResourceLoader implements ResourceLoader {
         this.classLoader = classLoader;
     }
 
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
     @Override
     public Iterable<Resource> resources(String path, String suffix) {
         return new ClasspathResourceIterable(classLoader, path, suffix);
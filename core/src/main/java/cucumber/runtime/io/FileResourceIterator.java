@@ -1,11 +1,14 @@
 package cucumber.runtime.io;
 
 import java.io.File;
-import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import static cucumber.runtime.io.Helpers.hasSuffix;
-import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 
 public class FileResourceIterator implements Iterator<Resource> {
     private final FlatteningIterator<Resource> flatteningIterator = new FlatteningIterator<Resource>();
@@ -19,13 +22,13 @@ public class FileResourceIterator implements Iterator<Resource> {
     }
 
     private FileResourceIterator(File root, File file, final String suffix, boolean classpathFileResourceIterator) {
-        FileFilter filter = new FileFilter() {
-            @Override
-            public boolean accept(File file) {
-                return file.isDirectory() || hasSuffix(suffix, file.getPath());
-            }
-        };
-        flatteningIterator.push(new FileIterator(root, file, filter, classpathFileResourceIterator));
+        if (file.isDirectory()) {
+            flatteningIterator.push(new FileIterator(root, file, suffix, classpathFileResourceIterator));
+        } else if (file.isFile()) {
+            flatteningIterator.push(singletonList(createFileResource(root, file, classpathFileResourceIterator)).iterator());
+        } else {
+            throw new IllegalArgumentException("Not a file or directory: " + file.getAbsolutePath());
+        }
     }
 
     @Override
@@ -43,56 +46,73 @@ public class FileResourceIterator implements Iterator<Resource> {
         throw new UnsupportedOperationException();
     }
 
+    private static FileResource createFileResource(File root, File file, boolean classpathFileResource) {
+        if (classpathFileResource) {
+            return FileResource.createClasspathFileResource(root, file);
+        } else {
+            return FileResource.createFileResource(root, file);
+        }
+    }
+
     /**
-     * Iterator to iterate over all the files contained in a directory. It returns
-     * a File object for non directories or a new FileIterator object for directories.
+     * Iterator to iterate over all the files contained in a directory, in the
+     * order of their names. It returns a FileResource object for files and a
+     * new FileIterator object for directories.
+     * <p>
+     * The names are listed without reading the attributes of the files, then
+     * each file is checked for being a directory once.
      */
     private static class FileIterator implements Iterator<Object> {
-        private final Iterator<File> files;
-        private final FileFilter filter;
+        private final Iterator<Object> children;
         private final File root;
+        private final String suffix;
         private final boolean classpathFileIterator;
 
-        FileIterator(File root, File file, FileFilter filter, boolean classpathFileIterator) {
+        FileIterator(File root, File directory, String suffix, boolean classpathFileIterator) {
             this.root = root;
-            if (file.isDirectory()) {
-                this.files = asList(file.listFiles(filter)).iterator();
-            } else if (file.isFile()) {
-                this.files = asList(file).iterator();
-            } else {
-                throw new IllegalArgumentException("Not a file or directory: " + file.getAbsolutePath());
-            }
-            this.filter = filter;
+            this.suffix = suffix;
             this.classpathFileIterator = classpathFileIterator;
+            this.children = children(directory).iterator();
+        }
+
+        private List<Object> children(File directory) {
+            String[] names = directory.list();
+            if (names == null) {
+                return emptyList();
+            }
+            Arrays.sort(names);
+            List<Object> children = new ArrayList<Object>(names.length);
+            for (String name : names) {
+                File child = new File(directory, name);
+                if (child.isDirectory()) {
+                    // Listed when the iterator reaches it
+                    children.add(child);
+                } else if (hasSuffix(suffix, name)) {
+                    children.add(createFileResource(root, child, classpathFileIterator));
+                }
             }
+            return children;
+        }
 
         @Override
         public Object next() {
-            File next = files.next();
+            Object next = children.next();
 
-            if (next.isDirectory()) {
-                return new FileIterator(root, next, filter, classpathFileIterator);
+            if (next instanceof File) {
+                return new FileIterator(root, (File) next, suffix, classpathFileIterator);
             } else {
-                return createFileResource(next);
+                return next;
             }
         }
 
         @Override
         public boolean hasNext() {
-            return files.hasNext();
+            return children.hasNext();
         }
 
         @Override
         public void remove() {
-            files.remove();
-        }
-
-        private FileResource createFileResource(File next) {
-            if (classpathFileIterator) {
-                return FileResource.createClasspathFileResource(root, next);
-            } else {
-                return FileResource.createFileResource(root, next);
-            }
+            throw new UnsupportedOperationException();
         }
     }
 }
@@ -0,0 +1,111 @@
+package cucumber.runtime.io;
+
+import cucumber.runtime.CucumberException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The glue index written by the cucumber-glue-index annotation processor.
+ * <p>
+ * Each class path entry may contain an index listing the glue classes that
+ * were compiled into it. The index of a class path entry is only used when
+ * every class path entry that contains the package has an index. Otherwise
+ * the package has to be scanned, because glue could be hidden in the entries
+ * without an index.
+ */
+final class GlueIndex {
+    static final String RESOURCE_NAME = "META-INF/cucumber/glue.index";
+
+    private final ClassLoader classLoader;
+    private Map<String, List<String>> classNamesByRoot;
+
+    GlueIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the names of the indexed classes in the package and its sub
+     * packages.
+     *
+     * @param packageName the package
+     * @return the class names, or null if the package is not fully indexed
+     */
+    Collection<String> classNames(String packageName) {
+        if (packageName.isEmpty() || classNamesByRoot().isEmpty()) {
+            return null;
+        }
+        String packagePath = packageName.replace('.', '/');
+        String classNamePrefix = packageName + ".";
+        List<String> result = new ArrayList<String>();
+        try {
+            Enumeration<URL> packageUrls = classLoader.getResources(packagePath);
+            while (packageUrls.hasMoreElements()) {
+                List<String> classNames = classNamesByRoot.get(root(packageUrls.nextElement(), packagePath));
+                if (classNames == null) {
+                    return null;
+                }
+                for (String className : classNames) {
+                    if (className.startsWith(classNamePrefix)) {
+                        result.add(className);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+        return result;
+    }
+
+    private Map<String, List<String>> classNamesByRoot() {
+        if (classNamesByRoot == null) {
+            classNamesByRoot = new HashMap<String, List<String>>();
+            try {
+                Enumeration<URL> indexUrls = classLoader.getResources(RESOURCE_NAME);
+                while (indexUrls.hasMoreElements()) {
+                    URL indexUrl = indexUrls.nextElement();
+                    classNamesByRoot.put(root(indexUrl, RESOURCE_NAME), read(indexUrl));
+                }
+            } catch (IOException e) {
+                throw new CucumberException(e);
+            }
+        }
+        return classNamesByRoot;
+    }
+
+    private static String root(URL url, String path) {
+        String externalForm = url.toExternalForm();
+        if (externalForm.endsWith("/")) {
+            externalForm = externalForm.substring(0, externalForm.length() - 1);
+        }
+        if (!externalForm.endsWith(path)) {
+            return null;
+        }
+        return externalForm.substring(0, externalForm.length() - path.length());
+    }
+
+    private static List<String> read(URL indexUrl) throws IOException {
+        List<String> classNames = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(indexUrl.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return classNames;
+    }
+}
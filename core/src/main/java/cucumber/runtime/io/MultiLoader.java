@@ -14,6 +14,10 @@ public class MultiLoader implements ResourceLoader {
         fs = new FileResourceLoader();
     }
 
+    ClassLoader getClassLoader() {
+        return classpath.getClassLoader();
+    }
+
     @Override
     public Iterable<Resource> resources(String path, String suffix) {
         if (isClasspathPath(path)) {
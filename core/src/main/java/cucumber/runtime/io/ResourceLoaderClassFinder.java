@@ -1,27 +1,109 @@
 package cucumber.runtime.io;
 
 import cucumber.runtime.ClassFinder;
+import cucumber.runtime.CucumberException;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * Finds classes by scanning the class files in a package.
+ * <p>
+ * When the class path contains a glue index for the package only the classes
+ * listed in the index are loaded. See {@link GlueIndex}. A {@link ClassFileFilter}
+ * can be used to avoid loading classes that can't be glue.
+ * <p>
+ * The class path does not change while the class loader is in use. So when
+ * the classes are found on the class path of a {@link MultiLoader}, the names
+ * of the classes found are remembered for the lifetime of the class loader and
+ * shared by all class finders using the same class loader. The class loader is
+ * only weakly referenced.
+ */
 public class ResourceLoaderClassFinder implements ClassFinder {
+    private static final Map<ClassLoader, Map<String, List<String>>> DESCENDANT_NAMES =
+        new WeakHashMap<ClassLoader, Map<String, List<String>>>();
+
     private final ResourceLoader resourceLoader;
     private final ClassLoader classLoader;
+    private final GlueIndex glueIndex;
 
     public ResourceLoaderClassFinder(ResourceLoader resourceLoader, ClassLoader classLoader) {
         this.resourceLoader = resourceLoader;
         this.classLoader = classLoader;
+        this.glueIndex = new GlueIndex(classLoader);
     }
 
     @Override
     public <T> Collection<Class<? extends T>> getDescendants(Class<T> parentType, String packageName) {
-        Collection<Class<? extends T>> result = new HashSet<Class<? extends T>>();
-        String packagePath = "classpath:" + packageName.replace('.', '/').replace(File.separatorChar, '/');
-        for (Resource classResource : resourceLoader.resources(packagePath, ".class")) {
-            String className = classResource.getClassName(".class");
+        return findDescendants(parentType, packageName, null);
+    }
+
+    /**
+     * Finds the descendants of the parent type in the package, but only loads
+     * the classes accepted by the class file filter. The other classes are
+     * never loaded by the class loader.
+     *
+     * @param parentType      the parent type
+     * @param packageName     the package to search
+     * @param classFileFilter filter applied to the class files before loading them
+     * @param <T>             the parent type
+     * @return the descendants of the parent type accepted by the filter
+     */
+    public <T> Collection<Class<? extends T>> getDescendants(Class<T> parentType, String packageName, ClassFileFilter classFileFilter) {
+        return findDescendants(parentType, packageName, classFileFilter);
+    }
 
+    private <T> Collection<Class<? extends T>> findDescendants(Class<T> parentType, String packageName, ClassFileFilter classFileFilter) {
+        if (!isClassPathOfClassLoader()) {
+            return loadDescendants(parentType, classNames(packageName, classFileFilter));
+        }
+        String key = parentType.getName() + " in " + packageName + (classFileFilter == null ? "" : " " + classFileFilter.key());
+        List<String> descendantNames = cachedDescendantNames(key);
+        if (descendantNames != null) {
+            return loadDescendants(parentType, descendantNames);
+        }
+        Collection<Class<? extends T>> descendants = loadDescendants(parentType, classNames(packageName, classFileFilter));
+        descendantNames = new ArrayList<String>(descendants.size());
+        for (Class<? extends T> descendant : descendants) {
+            descendantNames.add(descendant.getName());
+        }
+        cacheDescendantNames(key, descendantNames);
+        return descendants;
+    }
+
+    private boolean isClassPathOfClassLoader() {
+        return resourceLoader instanceof MultiLoader && ((MultiLoader) resourceLoader).getClassLoader() == classLoader;
+    }
+
+    private List<String> cachedDescendantNames(String key) {
+        synchronized (DESCENDANT_NAMES) {
+            Map<String, List<String>> descendantNamesByKey = DESCENDANT_NAMES.get(classLoader);
+            return descendantNamesByKey == null ? null : descendantNamesByKey.get(key);
+        }
+    }
+
+    private void cacheDescendantNames(String key, List<String> descendantNames) {
+        synchronized (DESCENDANT_NAMES) {
+            Map<String, List<String>> descendantNamesByKey = DESCENDANT_NAMES.get(classLoader);
+            if (descendantNamesByKey == null) {
+                descendantNamesByKey = new HashMap<String, List<String>>();
+                DESCENDANT_NAMES.put(classLoader, descendantNamesByKey);
+            }
+            descendantNamesByKey.put(key, descendantNames);
+        }
+    }
+
+    private <T> Collection<Class<? extends T>> loadDescendants(Class<T> parentType, Collection<String> classNames) {
+        Collection<Class<? extends T>> result = new HashSet<Class<? extends T>>();
+        for (String className : classNames) {
             try {
                 Class<?> clazz = loadClass(className);
                 if (clazz != null && !parentType.equals(clazz) && parentType.isAssignableFrom(clazz)) {
@@ -34,6 +116,40 @@ public class ResourceLoaderClassFinder implements ClassFinder {
         return result;
     }
 
+    private Collection<String> classNames(String packageName, ClassFileFilter classFileFilter) {
+        ClassFileFilter.Matcher matcher = classFileFilter == null ? null : classFileFilter.matcher(classLoader);
+        Collection<String> classNames = new ArrayList<String>();
+        Collection<String> indexedClassNames = glueIndex.classNames(packageName);
+        if (indexedClassNames != null) {
+            if (matcher == null) {
+                return indexedClassNames;
+            }
+            for (String className : indexedClassNames) {
+                InputStream classFile = classLoader.getResourceAsStream(className.replace('.', '/') + ".class");
+                if (classFile != null && matcher.matches(className, classFile)) {
+                    classNames.add(className);
+                }
+            }
+            return classNames;
+        }
+        String packagePath = "classpath:" + packageName.replace('.', '/').replace(File.separatorChar, '/');
+        for (Resource classResource : resourceLoader.resources(packagePath, ".class")) {
+            String className = classResource.getClassName(".class");
+            if (matcher == null || matcher.matches(className, inputStream(classResource))) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    private static InputStream inputStream(Resource resource) {
+        try {
+            return resource.getInputStream();
+        } catch (IOException e) {
+            throw new CucumberException(e);
+        }
+    }
+
     public <T> Class<? extends T> loadClass(String className) throws ClassNotFoundException {
         return (Class<? extends T>) classLoader.loadClass(className);
     }
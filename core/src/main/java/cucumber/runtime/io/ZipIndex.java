@@ -0,0 +1,153 @@
+package cucumber.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The sorted names of the entries of a zip file.
+ * <p>
+ * The index of a zip file is created once and shared by all the
+ * {@link ZipResourceIterator}s for that file, so finding the entries with a
+ * prefix is a binary search instead of a walk through the entire central
+ * directory. The index is created again when the file changes.
+ * <p>
+ * The zip file stays open while a {@link ZipIndexScope} holds the index. When
+ * the file changed, the old index is no longer used for new iterators, and its
+ * zip file is closed once the runs that still hold it are finished.
+ */
+final class ZipIndex {
+    private static final Map<String, ZipIndex> INDEXES = new HashMap<String, ZipIndex>();
+    private static final List<ZipIndexScope> SCOPES = new ArrayList<ZipIndexScope>();
+
+    private final String zipPath;
+    private final long lastModified;
+    private final long length;
+    private final String[] entryNames;
+    private final ZipFile zipFile;
+    private int users;
+
+    private ZipIndex(String zipPath, long lastModified, long length, ZipFile zipFile) {
+        this.zipPath = zipPath;
+        this.lastModified = lastModified;
+        this.length = length;
+        this.zipFile = zipFile;
+        List<String> names = new ArrayList<String>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            names.add(entries.nextElement().getName());
+        }
+        this.entryNames = names.toArray(new String[names.size()]);
+        Arrays.sort(entryNames);
+    }
+
+    static ZipIndex get(String zipPath) throws IOException {
+        File file = new File(zipPath);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        synchronized (INDEXES) {
+            ZipIndex index = INDEXES.get(zipPath);
+            if (index == null || index.lastModified != lastModified || index.length != length) {
+                if (index != null) {
+                    INDEXES.remove(zipPath);
+                    index.closeIfUnused();
+                }
+                index = new ZipIndex(zipPath, lastModified, length, new ZipFile(zipPath));
+                INDEXES.put(zipPath, index);
+            }
+            for (ZipIndexScope scope : SCOPES) {
+                index.acquire(scope);
+            }
+            return index;
+        }
+    }
+
+    static void open(ZipIndexScope scope) {
+        synchronized (INDEXES) {
+            SCOPES.add(scope);
+            for (ZipIndex index : INDEXES.values()) {
+                index.acquire(scope);
+            }
+        }
+    }
+
+    static void close(ZipIndexScope scope) {
+        synchronized (INDEXES) {
+            if (!SCOPES.remove(scope)) {
+                return;
+            }
+            for (ZipIndex index : scope.indexes) {
+                index.users--;
+                index.closeIfUnused();
+            }
+            scope.indexes.clear();
+        }
+    }
+
+    static void closeAllScopes() {
+        synchronized (INDEXES) {
+            for (ZipIndexScope scope : new ArrayList<ZipIndexScope>(SCOPES)) {
+                close(scope);
+            }
+        }
+    }
+
+    private void acquire(ZipIndexScope scope) {
+        if (scope.indexes.add(this)) {
+            users++;
+        }
+    }
+
+    /**
+     * Closes the zip file when no scope holds the index. The index is removed
+     * from the cache, so the next iterator indexes the file again.
+     */
+    private void closeIfUnused() {
+        if (users > 0) {
+            return;
+        }
+        if (INDEXES.get(zipPath) == this) {
+            INDEXES.remove(zipPath);
+        }
+        try {
+            zipFile.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    String getName() {
+        return zipPath;
+    }
+
+    /**
+     * @param prefix the prefix of the names
+     * @return the names of the entries that start with the prefix, in order
+     */
+    List<String> entryNames(String prefix) {
+        int from = Arrays.binarySearch(entryNames, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = from;
+        while (to < entryNames.length && entryNames[to].startsWith(prefix)) {
+            to++;
+        }
+        return Arrays.asList(entryNames).subList(from, to);
+    }
+
+    InputStream getInputStream(String entryName) throws IOException {
+        ZipEntry entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException("No entry " + entryName + " in " + zipPath);
+        }
+        return zipFile.getInputStream(entry);
+    }
+}
@@ -0,0 +1,34 @@
+package cucumber.runtime.io;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the zip files indexed by {@link ZipResourceIterator}s open while a run
+ * is going on.
+ * <p>
+ * An open scope holds every index that is cached when it opens or that is used
+ * while it is open. A zip file is closed as soon as no open scope holds its
+ * index any more. Indexes used while no scope is open are held by the next
+ * scope that opens.
+ */
+public final class ZipIndexScope {
+    final Set<ZipIndex> indexes = new HashSet<ZipIndex>();
+
+    private ZipIndexScope() {
+    }
+
+    public static ZipIndexScope open() {
+        ZipIndexScope scope = new ZipIndexScope();
+        ZipIndex.open(scope);
+        return scope;
+    }
+
+    /**
+     * Releases the indexes held by this scope. Closing a scope again has no
+     * effect.
+     */
+    public void close() {
+        ZipIndex.close(this);
+    }
+}
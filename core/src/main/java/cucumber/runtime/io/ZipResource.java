@@ -8,25 +8,39 @@ import java.util.zip.ZipFile;
 public class ZipResource implements Resource {
     private final ZipFile jarFile;
     private final ZipEntry jarEntry;
+    private final ZipIndex zipIndex;
+    private final String entryName;
 
     public ZipResource(ZipFile jarFile, ZipEntry jarEntry) {
         this.jarFile = jarFile;
         this.jarEntry = jarEntry;
+        this.zipIndex = null;
+        this.entryName = jarEntry.getName();
+    }
+
+    ZipResource(ZipIndex zipIndex, String entryName) {
+        this.jarFile = null;
+        this.jarEntry = null;
+        this.zipIndex = zipIndex;
+        this.entryName = entryName;
     }
 
     @Override
     public String getPath() {
-        return jarEntry.getName();
+        return entryName;
     }
 
     @Override
     public String getAbsolutePath() {
-        return jarFile.getName() + "!/" + getPath();
+        return (jarFile != null ? jarFile.getName() : zipIndex.getName()) + "!/" + getPath();
     }
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return jarFile.getInputStream(jarEntry);
+        if (jarFile != null) {
+            return jarFile.getInputStream(jarEntry);
+        }
+        return zipIndex.getInputStream(entryName);
     }
 
     @Override
@@ -1,24 +1,23 @@
 package cucumber.runtime.io;
 
 import java.io.IOException;
-import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
+/**
+ * Iterates over the entries of a zip file that start with a path. The entries
+ * are found in a {@link ZipIndex} shared by all iterators for the zip file.
+ */
 public class ZipResourceIterator implements Iterator<Resource> {
-    private final String path;
     private final String suffix;
-    private final ZipFile jarFile;
-    private final Enumeration<? extends ZipEntry> entries;
+    private final ZipIndex zipIndex;
+    private final Iterator<String> entryNames;
     private Resource next;
 
     public ZipResourceIterator(String zipPath, String path, String suffix) throws IOException {
-        this.path = path;
         this.suffix = suffix;
-        jarFile = new ZipFile(zipPath);
-        entries = jarFile.entries();
+        zipIndex = ZipIndex.get(zipPath);
+        entryNames = zipIndex.entryNames(path).iterator();
 
         moveToNext();
     }
@@ -47,11 +46,10 @@ public class ZipResourceIterator implements Iterator<Resource> {
 
     private void moveToNext() {
         next = null;
-        while (entries.hasMoreElements()) {
-            ZipEntry jarEntry = entries.nextElement();
-            String entryName = jarEntry.getName();
-            if (entryName.startsWith(path) && Helpers.hasSuffix(suffix, entryName)) {
-                next = new ZipResource(jarFile, jarEntry);
+        while (entryNames.hasNext()) {
+            String entryName = entryNames.next();
+            if (Helpers.hasSuffix(suffix, entryName)) {
+                next = new ZipResource(zipIndex, entryName);
                 break;
             }
         }
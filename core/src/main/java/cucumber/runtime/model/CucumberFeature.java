@@ -8,6 +8,8 @@ import cucumber.runtime.io.Resource;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.util.Encoding;
 import gherkin.ast.GherkinDocument;
+import gherkin.pickles.Compiler;
+import gherkin.pickles.Pickle;
 
 import java.io.IOException;
 import java.io.PrintStream;
@@ -24,10 +26,15 @@ public class CucumberFeature implements Serializable {
     private final String uri;
     private GherkinDocument gherkinDocument;
     private String gherkinSource;
+    private List<Pickle> pickles;
     public static final Pattern RERUN_PATH_SPECIFICATION = Pattern.compile("(?m:^| |)(.*?\\.feature(?:(?::\\d+)*))");
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, PrintStream out) {
-        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths);
+        return load(resourceLoader, featurePaths, null, out);
+    }
+
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, FeatureCache featureCache, PrintStream out) {
+        final List<CucumberFeature> cucumberFeatures = load(resourceLoader, featurePaths, featureCache);
         if (cucumberFeatures.isEmpty()) {
             if (featurePaths.isEmpty()) {
                 out.println("Got no path to feature directory or feature file");
@@ -39,22 +46,35 @@ public class CucumberFeature implements Serializable {
     }
 
     public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths) {
+        return load(resourceLoader, featurePaths, (FeatureCache) null);
+    }
+
+    /**
+     * Loads the features.
+     *
+     * @param resourceLoader the resource loader to find the features with
+     * @param featurePaths   the paths of the features
+     * @param featureCache   the cache of parsed features, or null to parse every feature
+     * @return the features sorted by uri
+     */
+    public static List<CucumberFeature> load(ResourceLoader resourceLoader, List<String> featurePaths, FeatureCache featureCache) {
         final List<CucumberFeature> cucumberFeatures = new ArrayList<CucumberFeature>();
-        final FeatureBuilder builder = new FeatureBuilder(cucumberFeatures);
+        final List<Resource> resources = new ArrayList<Resource>();
         for (String featurePath : featurePaths) {
             if (featurePath.startsWith("@")) {
-                loadFromRerunFile(builder, resourceLoader, featurePath.substring(1));
+                loadFromRerunFile(resources, resourceLoader, featurePath.substring(1));
             } else {
-                loadFromFeaturePath(builder, resourceLoader, featurePath, false);
+                loadFromFeaturePath(resources, resourceLoader, featurePath, false);
             }
         }
+        new FeatureBuilder(cucumberFeatures, featureCache).parse(resources);
         Collections.sort(cucumberFeatures, new CucumberFeatureUriComparator());
         return cucumberFeatures;
     }
 
-    private static void loadFromRerunFile(FeatureBuilder builder, ResourceLoader resourceLoader, String rerunPath) {
+    private static void loadFromRerunFile(List<Resource> featureResources, ResourceLoader resourceLoader, String rerunPath) {
         for(PathWithLines pathWithLines : loadRerunFile(resourceLoader, rerunPath)){
-            loadFromFileSystemOrClasspath(builder, resourceLoader, pathWithLines.path);
+            loadFromFileSystemOrClasspath(featureResources, resourceLoader, pathWithLines.path);
         }
     }
 
@@ -81,14 +101,14 @@ public class CucumberFeature implements Serializable {
         }
     }
 
-    private static void loadFromFileSystemOrClasspath(FeatureBuilder builder, ResourceLoader resourceLoader, String featurePath) {
+    private static void loadFromFileSystemOrClasspath(List<Resource> featureResources, ResourceLoader resourceLoader, String featurePath) {
         try {
-            loadFromFeaturePath(builder, resourceLoader, featurePath, false);
+            loadFromFeaturePath(featureResources, resourceLoader, featurePath, false);
         } catch (IllegalArgumentException originalException) {
             if (!featurePath.startsWith(MultiLoader.CLASSPATH_SCHEME) &&
                     originalException.getMessage().contains("Not a file or directory")) {
                 try {
-                    loadFromFeaturePath(builder, resourceLoader, MultiLoader.CLASSPATH_SCHEME + featurePath, true);
+                    loadFromFeaturePath(featureResources, resourceLoader, MultiLoader.CLASSPATH_SCHEME + featurePath, true);
                 } catch (IllegalArgumentException secondException) {
                     if (secondException.getMessage().contains("No resource found for")) {
                         throw new IllegalArgumentException("Neither found on file system or on classpath: " +
@@ -103,13 +123,13 @@ public class CucumberFeature implements Serializable {
         }
     }
 
-    private static void loadFromFeaturePath(FeatureBuilder builder, ResourceLoader resourceLoader, String featurePath, boolean failOnNoResource) {
+    private static void loadFromFeaturePath(List<Resource> featureResources, ResourceLoader resourceLoader, String featurePath, boolean failOnNoResource) {
         Iterable<Resource> resources = resourceLoader.resources(featurePath, ".feature");
         if (failOnNoResource && !resources.iterator().hasNext()) {
             throw new IllegalArgumentException("No resource found for: " + featurePath);
         }
         for (Resource resource : resources) {
-            builder.parse(resource);
+            featureResources.add(resource);
         }
     }
 
@@ -119,6 +139,11 @@ public class CucumberFeature implements Serializable {
         this.gherkinSource = gherkinSource;
     }
 
+    CucumberFeature(GherkinDocument gherkinDocument, String uri, String gherkinSource, List<Pickle> pickles) {
+        this(gherkinDocument, uri, gherkinSource);
+        this.pickles = pickles;
+    }
+
     public GherkinDocument getGherkinFeature() {
         return gherkinDocument;
     }
@@ -127,6 +152,23 @@ public class CucumberFeature implements Serializable {
         return uri;
     }
 
+    String getGherkinSource() {
+        return gherkinSource;
+    }
+
+    /**
+     * Returns the pickles of the feature. The pickles are compiled on every
+     * call, unless they were read from or written to a {@link FeatureCache}.
+     *
+     * @return the pickles of the feature
+     */
+    public List<Pickle> getPickles() {
+        if (pickles != null) {
+            return pickles;
+        }
+        return new Compiler().compile(gherkinDocument);
+    }
+
     public void sendTestSourceRead(EventBus bus) {
         bus.send(new TestSourceRead(bus.getTime(), uri, gherkinSource));
     }
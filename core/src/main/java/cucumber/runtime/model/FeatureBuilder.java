@@ -8,6 +8,7 @@ import gherkin.Parser;
 import gherkin.ParserException;
 import gherkin.TokenMatcher;
 import gherkin.ast.GherkinDocument;
+import gherkin.pickles.Compiler;
 
 import java.io.File;
 import java.io.IOException;
@@ -15,60 +16,134 @@ import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Reads and parses feature files.
+ * <p>
+ * Several resources passed to {@link #parse(List)} are read and parsed in
+ * parallel, one task per resource. Each thread uses its own parser. The
+ * features are added in the order of the resources, and of several features
+ * with the same content only the first one is added.
+ * <p>
+ * When a {@link FeatureCache} is given, features that are in the cache are
+ * read from it instead of being parsed, and the other features are compiled
+ * into pickles and written to it.
+ */
 public class FeatureBuilder {
     private static final Charset UTF8 = Charset.forName("UTF-8");
     private final List<CucumberFeature> cucumberFeatures;
     private final char fileSeparatorChar;
-    private final MessageDigest md5;
-    private final Map<String, String> pathsByChecksum = new HashMap<String, String>();
+    private final FeatureCache featureCache;
+    private final ConcurrentMap<String, String> pathsByChecksum = new ConcurrentHashMap<String, String>();
 
     public FeatureBuilder(List<CucumberFeature> cucumberFeatures) {
-        this(cucumberFeatures, File.separatorChar);
+        this(cucumberFeatures, File.separatorChar, null);
+    }
+
+    public FeatureBuilder(List<CucumberFeature> cucumberFeatures, FeatureCache featureCache) {
+        this(cucumberFeatures, File.separatorChar, featureCache);
     }
 
     FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar) {
+        this(cucumberFeatures, fileSeparatorChar, null);
+    }
+
+    FeatureBuilder(List<CucumberFeature> cucumberFeatures, char fileSeparatorChar, FeatureCache featureCache) {
         this.cucumberFeatures = cucumberFeatures;
         this.fileSeparatorChar = fileSeparatorChar;
-        try {
-            this.md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new CucumberException(e);
-        }
+        this.featureCache = featureCache;
     }
 
     public void parse(Resource resource) {
-        String gherkin = read(resource);
+        parse(Collections.singletonList(resource));
+    }
+
+    /**
+     * Parses the resources and adds the features to the list of features.
+     *
+     * @param resources the feature files to parse
+     */
+    public void parse(List<Resource> resources) {
+        for (ParsedFeature parsedFeature : parseAll(resources)) {
+            if (parsedFeature.feature != null && pathsByChecksum.putIfAbsent(parsedFeature.checksum, parsedFeature.path) == null) {
+                cucumberFeatures.add(parsedFeature.feature);
+            }
+        }
+    }
 
-        String checksum = checksum(gherkin);
-        String path = pathsByChecksum.get(checksum);
-        if (path != null) {
-            return;
+    private List<ParsedFeature> parseAll(List<Resource> resources) {
+        int threads = Math.min(resources.size(), Runtime.getRuntime().availableProcessors());
+        List<ParsedFeature> parsedFeatures = new ArrayList<ParsedFeature>(resources.size());
+        if (threads <= 1) {
+            FeatureParser parser = new FeatureParser();
+            for (Resource resource : resources) {
+                parsedFeatures.add(parser.parse(resource));
+            }
+            return parsedFeatures;
         }
-        pathsByChecksum.put(checksum, resource.getPath());
 
-        Parser<GherkinDocument> parser = new Parser<GherkinDocument>(new AstBuilder());
-        TokenMatcher matcher = new TokenMatcher();
+        // Only the threads of the executor use the parsers, so they are gone with the threads
+        final ThreadLocal<FeatureParser> parsers = new ThreadLocal<FeatureParser>() {
+            @Override
+            protected FeatureParser initialValue() {
+                return new FeatureParser();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ParserThreadFactory());
         try {
-            GherkinDocument gherkinDocument = parser.parse(gherkin, matcher);
-            CucumberFeature feature = new CucumberFeature(gherkinDocument, convertFileSeparatorToForwardSlash(resource.getPath()), gherkin);
-            cucumberFeatures.add(feature);
-        } catch (ParserException e) {
+            List<Future<ParsedFeature>> futures = new ArrayList<Future<ParsedFeature>>(resources.size());
+            for (final Resource resource : resources) {
+                futures.add(executor.submit(new Callable<ParsedFeature>() {
+                    @Override
+                    public ParsedFeature call() {
+                        return parsers.get().parse(resource);
+                    }
+                }));
+            }
+            // Waiting in order reports the failure of the first feature that could not be parsed
+            for (Future<ParsedFeature> future : futures) {
+                parsedFeatures.add(get(future));
+            }
+            return parsedFeatures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ParsedFeature get(Future<ParsedFeature> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new CucumberException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CucumberException(cause);
         }
-     }
+    }
 
     private String convertFileSeparatorToForwardSlash(String path) {
         return path.replace(fileSeparatorChar, '/');
     }
 
-    private String checksum(String gherkin) {
-        return new BigInteger(1, md5.digest(gherkin.getBytes(UTF8))).toString(16);
-    }
-
     public String read(Resource resource) {
         try {
             String source = Encoding.readFile(resource);
@@ -77,4 +152,74 @@ public class FeatureBuilder {
             throw new CucumberException("Failed to read resource:" + resource.getPath(), e);
         }
     }
+
+    private final class FeatureParser {
+        private final Parser<GherkinDocument> parser = new Parser<GherkinDocument>(new AstBuilder());
+        private final TokenMatcher matcher = new TokenMatcher();
+        private final Compiler compiler = new Compiler();
+        private final MessageDigest md5;
+
+        FeatureParser() {
+            try {
+                this.md5 = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new CucumberException(e);
+            }
+        }
+
+        ParsedFeature parse(Resource resource) {
+            String gherkin = read(resource);
+            String checksum = checksum(gherkin);
+            if (pathsByChecksum.containsKey(checksum)) {
+                // Duplicate of a feature added before
+                return new ParsedFeature(checksum, resource.getPath(), null);
+            }
+            String uri = convertFileSeparatorToForwardSlash(resource.getPath());
+            if (featureCache == null) {
+                return new ParsedFeature(checksum, resource.getPath(), new CucumberFeature(parse(gherkin), uri, gherkin));
+            }
+            CucumberFeature feature = featureCache.read(uri, gherkin);
+            if (feature == null) {
+                GherkinDocument gherkinDocument = parse(gherkin);
+                feature = new CucumberFeature(gherkinDocument, uri, gherkin, compiler.compile(gherkinDocument));
+                featureCache.write(feature);
+            }
+            return new ParsedFeature(checksum, resource.getPath(), feature);
+        }
+
+        private GherkinDocument parse(String gherkin) {
+            try {
+                return parser.parse(gherkin, matcher);
+            } catch (ParserException e) {
+                throw new CucumberException(e);
+            }
+        }
+
+        private String checksum(String gherkin) {
+            return new BigInteger(1, md5.digest(gherkin.getBytes(UTF8))).toString(16);
+        }
+    }
+
+    private static final class ParsedFeature {
+        private final String checksum;
+        private final String path;
+        private final CucumberFeature feature;
+
+        ParsedFeature(String checksum, String path, CucumberFeature feature) {
+            this.checksum = checksum;
+            this.path = path;
+            this.feature = feature;
+        }
+    }
+
+    private static final class ParserThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cucumber-feature-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
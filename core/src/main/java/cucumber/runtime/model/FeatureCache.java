@@ -0,0 +1,154 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.CucumberException;
+import gherkin.Parser;
+import gherkin.pickles.Pickle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Keeps the parsed gherkin documents and their pickles in a directory, so
+ * features that did not change since the previous run are not parsed and
+ * compiled again.
+ * <p>
+ * The entries are keyed by a hash of the source of the feature and the version
+ * of gherkin. Entries that can't be read are ignored and written again. Entries
+ * that can't be written, because the directory is read-only or full, are
+ * skipped with a warning. Stale entries are never removed, the directory can
+ * be deleted at any time.
+ */
+public final class FeatureCache {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final String GHERKIN_VERSION = gherkinVersion();
+
+    private final File directory;
+    private volatile boolean warned;
+
+    public FeatureCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the feature cached for the source.
+     *
+     * @param uri    the uri of the feature
+     * @param source the source of the feature
+     * @return the cached feature or null when the source is not cached
+     */
+    public CucumberFeature read(String uri, String source) {
+        File file = new File(directory, key(source));
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != FeatureCacheFormat.VERSION) {
+                    return null;
+                }
+                FeatureCacheFormat.CachedFeature cached = FeatureCacheFormat.read(in);
+                return new CucumberFeature(cached.gherkinDocument, uri, source, cached.pickles);
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            return null;
+        } catch (RuntimeException e) {
+            // A corrupted entry can also make the gherkin constructors fail
+            return null;
+        }
+    }
+
+    /**
+     * Writes the gherkin document and pickles of the feature to the cache.
+     * Failures are reported once on {@code System.err} and otherwise ignored.
+     *
+     * @param feature the feature to cache
+     */
+    public void write(CucumberFeature feature) {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            warn("Failed to create feature cache directory: " + directory);
+            return;
+        }
+        File file = new File(directory, key(feature.getGherkinSource()));
+        try {
+            // Written next to the entry and renamed, so other runs never see a partial entry
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+            try {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+                try {
+                    List<Pickle> pickles = feature.getPickles();
+                    out.writeInt(FeatureCacheFormat.VERSION);
+                    FeatureCacheFormat.write(out, feature.getGherkinFeature(), pickles);
+                } finally {
+                    out.close();
+                }
+                if (!temporaryFile.renameTo(file) && !file.isFile()) {
+                    throw new IOException("Could not rename " + temporaryFile + " to " + file);
+                }
+            } finally {
+                if (temporaryFile.exists()) {
+                    temporaryFile.delete();
+                }
+            }
+        } catch (IOException e) {
+            warn("Failed to write to feature cache: " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void warn(String message) {
+        if (!warned) {
+            warned = true;
+            System.err.println("WARNING: " + message + ". Features are parsed without the cache.");
+        }
+    }
+
+    private static String key(String source) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            sha1.update(GHERKIN_VERSION.getBytes(UTF8));
+            sha1.update((byte) 0);
+            sha1.update(source.getBytes(UTF8));
+            return String.format("%040x", new BigInteger(1, sha1.digest())) + ".bin";
+        } catch (NoSuchAlgorithmException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static String gherkinVersion() {
+        InputStream pom = Parser.class.getResourceAsStream("/META-INF/maven/io.cucumber/gherkin/pom.properties");
+        if (pom != null) {
+            try {
+                try {
+                    Properties properties = new Properties();
+                    properties.load(pom);
+                    String version = properties.getProperty("version");
+                    if (version != null) {
+                        return version;
+                    }
+                } finally {
+                    pom.close();
+                }
+            } catch (IOException ignore) {
+            }
+        }
+        // Jars usually have the version in their name
+        CodeSource codeSource = Parser.class.getProtectionDomain().getCodeSource();
+        return codeSource == null || codeSource.getLocation() == null ? "unknown" : codeSource.getLocation().toString();
+    }
+}
@@ -0,0 +1,564 @@
+package cucumber.runtime.model;
+
+import cucumber.runtime.CucumberException;
+import gherkin.ast.Background;
+import gherkin.ast.Comment;
+import gherkin.ast.DataTable;
+import gherkin.ast.DocString;
+import gherkin.ast.Examples;
+import gherkin.ast.Feature;
+import gherkin.ast.GherkinDocument;
+import gherkin.ast.Location;
+import gherkin.ast.Node;
+import gherkin.ast.Scenario;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.ast.ScenarioOutline;
+import gherkin.ast.Step;
+import gherkin.ast.TableCell;
+import gherkin.ast.TableRow;
+import gherkin.ast.Tag;
+import gherkin.pickles.Argument;
+import gherkin.pickles.Pickle;
+import gherkin.pickles.PickleCell;
+import gherkin.pickles.PickleLocation;
+import gherkin.pickles.PickleRow;
+import gherkin.pickles.PickleStep;
+import gherkin.pickles.PickleString;
+import gherkin.pickles.PickleTable;
+import gherkin.pickles.PickleTag;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of a gherkin document and its pickles.
+ * <p>
+ * Numbers are written as variable length integers and every string is written
+ * once. Later occurrences of a string, like the step texts repeated in the
+ * pickles, refer to the first one.
+ */
+final class FeatureCacheFormat {
+    static final int VERSION = 1;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int FIRST_STRING_REFERENCE = 2;
+
+    private static final int NONE = 0;
+    private static final int BACKGROUND = 1;
+    private static final int SCENARIO = 2;
+    private static final int SCENARIO_OUTLINE = 3;
+    private static final int DATA_TABLE = 1;
+    private static final int DOC_STRING = 2;
+
+    // PickleTag has no accessor for its location
+    private static final Field PICKLE_TAG_LOCATION = pickleTagLocation();
+
+    private FeatureCacheFormat() {
+    }
+
+    private static Field pickleTagLocation() {
+        try {
+            Field field = PickleTag.class.getDeclaredField("location");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new CucumberException(e);
+        }
+    }
+
+    private static PickleLocation location(PickleTag tag) throws IOException {
+        try {
+            return (PickleLocation) PICKLE_TAG_LOCATION.get(tag);
+        } catch (IllegalAccessException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    static void write(DataOutputStream out, GherkinDocument gherkinDocument, List<Pickle> pickles) throws IOException {
+        Writer writer = new Writer(out);
+        writer.writeDocument(gherkinDocument);
+        writer.writeInt(pickles.size());
+        for (Pickle pickle : pickles) {
+            writer.writePickle(pickle);
+        }
+    }
+
+    static CachedFeature read(DataInputStream in) throws IOException {
+        Reader reader = new Reader(in);
+        GherkinDocument gherkinDocument = reader.readDocument();
+        int size = reader.readInt();
+        List<Pickle> pickles = new ArrayList<Pickle>(size);
+        for (int i = 0; i < size; i++) {
+            pickles.add(reader.readPickle());
+        }
+        return new CachedFeature(gherkinDocument, pickles);
+    }
+
+    static final class CachedFeature {
+        final GherkinDocument gherkinDocument;
+        final List<Pickle> pickles;
+
+        private CachedFeature(GherkinDocument gherkinDocument, List<Pickle> pickles) {
+            this.gherkinDocument = gherkinDocument;
+            this.pickles = pickles;
+        }
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeDocument(GherkinDocument gherkinDocument) throws IOException {
+            Feature feature = gherkinDocument.getFeature();
+            if (feature == null) {
+                writeInt(NONE);
+            } else {
+                writeInt(1);
+                writeFeature(feature);
+            }
+            List<Comment> comments = gherkinDocument.getComments();
+            writeInt(comments.size());
+            for (Comment comment : comments) {
+                writeLocation(comment.getLocation());
+                writeString(comment.getText());
+            }
+        }
+
+        private void writeFeature(Feature feature) throws IOException {
+            writeTags(feature.getTags());
+            writeLocation(feature.getLocation());
+            writeString(feature.getLanguage());
+            writeString(feature.getKeyword());
+            writeString(feature.getName());
+            writeString(feature.getDescription());
+            List<ScenarioDefinition> children = feature.getChildren();
+            writeInt(children.size());
+            for (ScenarioDefinition child : children) {
+                writeScenarioDefinition(child);
+            }
+        }
+
+        private void writeScenarioDefinition(ScenarioDefinition definition) throws IOException {
+            if (definition instanceof Background) {
+                writeInt(BACKGROUND);
+            } else if (definition instanceof ScenarioOutline) {
+                writeInt(SCENARIO_OUTLINE);
+                writeTags(((ScenarioOutline) definition).getTags());
+            } else if (definition instanceof Scenario) {
+                writeInt(SCENARIO);
+                writeTags(((Scenario) definition).getTags());
+            } else {
+                throw new IOException("Unknown scenario definition: " + definition.getClass().getName());
+            }
+            writeLocation(definition.getLocation());
+            writeString(definition.getKeyword());
+            writeString(definition.getName());
+            writeString(definition.getDescription());
+            List<Step> steps = definition.getSteps();
+            writeInt(steps.size());
+            for (Step step : steps) {
+                writeStep(step);
+            }
+            if (definition instanceof ScenarioOutline) {
+                List<Examples> examples = ((ScenarioOutline) definition).getExamples();
+                writeInt(examples.size());
+                for (Examples example : examples) {
+                    writeExamples(example);
+                }
+            }
+        }
+
+        private void writeStep(Step step) throws IOException {
+            writeLocation(step.getLocation());
+            writeString(step.getKeyword());
+            writeString(step.getText());
+            Node argument = step.getArgument();
+            if (argument instanceof DataTable) {
+                writeInt(DATA_TABLE);
+                writeTableRows(((DataTable) argument).getRows());
+            } else if (argument instanceof DocString) {
+                DocString docString = (DocString) argument;
+                writeInt(DOC_STRING);
+                writeLocation(docString.getLocation());
+                writeString(docString.getContentType());
+                writeString(docString.getContent());
+            } else if (argument == null) {
+                writeInt(NONE);
+            } else {
+                throw new IOException("Unknown step argument: " + argument.getClass().getName());
+            }
+        }
+
+        private void writeExamples(Examples examples) throws IOException {
+            writeLocation(examples.getLocation());
+            writeTags(examples.getTags());
+            writeString(examples.getKeyword());
+            writeString(examples.getName());
+            writeString(examples.getDescription());
+            TableRow tableHeader = examples.getTableHeader();
+            if (tableHeader == null) {
+                writeInt(NONE);
+            } else {
+                writeInt(1);
+                writeTableRow(tableHeader);
+            }
+            writeTableRows(examples.getTableBody());
+        }
+
+        private void writeTableRows(List<TableRow> rows) throws IOException {
+            if (rows == null) {
+                writeInt(NONE);
+                return;
+            }
+            writeInt(rows.size() + 1);
+            for (TableRow row : rows) {
+                writeTableRow(row);
+            }
+        }
+
+        private void writeTableRow(TableRow row) throws IOException {
+            writeLocation(row.getLocation());
+            List<TableCell> cells = row.getCells();
+            writeInt(cells.size());
+            for (TableCell cell : cells) {
+                writeLocation(cell.getLocation());
+                writeString(cell.getValue());
+            }
+        }
+
+        private void writeTags(List<Tag> tags) throws IOException {
+            writeInt(tags.size());
+            for (Tag tag : tags) {
+                writeLocation(tag.getLocation());
+                writeString(tag.getName());
+            }
+        }
+
+        private void writeLocation(Location location) throws IOException {
+            writeInt(location.getLine());
+            writeInt(location.getColumn());
+        }
+
+        void writePickle(Pickle pickle) throws IOException {
+            writeString(pickle.getName());
+            writeString(pickle.getLanguage());
+            List<PickleStep> steps = pickle.getSteps();
+            writeInt(steps.size());
+            for (PickleStep step : steps) {
+                writePickleStep(step);
+            }
+            List<PickleTag> tags = pickle.getTags();
+            writeInt(tags.size());
+            for (PickleTag tag : tags) {
+                writePickleLocation(location(tag));
+                writeString(tag.getName());
+            }
+            writePickleLocations(pickle.getLocations());
+        }
+
+        private void writePickleStep(PickleStep step) throws IOException {
+            writeString(step.getText());
+            List<Argument> arguments = step.getArgument();
+            writeInt(arguments.size());
+            for (Argument argument : arguments) {
+                if (argument instanceof PickleTable) {
+                    writeInt(DATA_TABLE);
+                    List<PickleRow> rows = ((PickleTable) argument).getRows();
+                    writeInt(rows.size());
+                    for (PickleRow row : rows) {
+                        List<PickleCell> cells = row.getCells();
+                        writeInt(cells.size());
+                        for (PickleCell cell : cells) {
+                            writePickleLocation(cell.getLocation());
+                            writeString(cell.getValue());
+                        }
+                    }
+                } else if (argument instanceof PickleString) {
+                    PickleString pickleString = (PickleString) argument;
+                    writeInt(DOC_STRING);
+                    writePickleLocation(pickleString.getLocation());
+                    writeString(pickleString.getContent());
+                } else {
+                    throw new IOException("Unknown pickle argument: " + argument.getClass().getName());
+                }
+            }
+            writePickleLocations(step.getLocations());
+        }
+
+        private void writePickleLocations(List<PickleLocation> locations) throws IOException {
+            writeInt(locations.size());
+            for (PickleLocation location : locations) {
+                writePickleLocation(location);
+            }
+        }
+
+        private void writePickleLocation(PickleLocation location) throws IOException {
+            writeInt(location.getLine());
+            writeInt(location.getColumn());
+        }
+
+        private void writeString(String string) throws IOException {
+            if (string == null) {
+                writeInt(NULL_STRING);
+                return;
+            }
+            Integer index = stringIndexes.get(string);
+            if (index != null) {
+                writeInt(FIRST_STRING_REFERENCE + index);
+                return;
+            }
+            stringIndexes.put(string, stringIndexes.size());
+            byte[] bytes = string.getBytes(UTF8);
+            writeInt(NEW_STRING);
+            writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<String>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        GherkinDocument readDocument() throws IOException {
+            Feature feature = readInt() == NONE ? null : readFeature();
+            int size = readInt();
+            List<Comment> comments = new ArrayList<Comment>(size);
+            for (int i = 0; i < size; i++) {
+                comments.add(new Comment(readLocation(), readString()));
+            }
+            return new GherkinDocument(feature, comments);
+        }
+
+        private Feature readFeature() throws IOException {
+            List<Tag> tags = readTags();
+            Location location = readLocation();
+            String language = readString();
+            String keyword = readString();
+            String name = readString();
+            String description = readString();
+            int size = readInt();
+            List<ScenarioDefinition> children = new ArrayList<ScenarioDefinition>(size);
+            for (int i = 0; i < size; i++) {
+                children.add(readScenarioDefinition());
+            }
+            return new Feature(tags, location, language, keyword, name, description, children);
+        }
+
+        private ScenarioDefinition readScenarioDefinition() throws IOException {
+            int type = readInt();
+            List<Tag> tags = type == BACKGROUND ? null : readTags();
+            Location location = readLocation();
+            String keyword = readString();
+            String name = readString();
+            String description = readString();
+            int size = readInt();
+            List<Step> steps = new ArrayList<Step>(size);
+            for (int i = 0; i < size; i++) {
+                steps.add(readStep());
+            }
+            switch (type) {
+                case BACKGROUND:
+                    return new Background(location, keyword, name, description, steps);
+                case SCENARIO:
+                    return new Scenario(tags, location, keyword, name, description, steps);
+                case SCENARIO_OUTLINE:
+                    int examplesSize = readInt();
+                    List<Examples> examples = new ArrayList<Examples>(examplesSize);
+                    for (int i = 0; i < examplesSize; i++) {
+                        examples.add(readExamples());
+                    }
+                    return new ScenarioOutline(tags, location, keyword, name, description, steps, examples);
+                default:
+                    throw new IOException("Unknown scenario definition type: " + type);
+            }
+        }
+
+        private Step readStep() throws IOException {
+            Location location = readLocation();
+            String keyword = readString();
+            String text = readString();
+            Node argument;
+            int type = readInt();
+            switch (type) {
+                case NONE:
+                    argument = null;
+                    break;
+                case DATA_TABLE:
+                    argument = new DataTable(readTableRows());
+                    break;
+                case DOC_STRING:
+                    Location docStringLocation = readLocation();
+                    String contentType = readString();
+                    argument = new DocString(docStringLocation, contentType, readString());
+                    break;
+                default:
+                    throw new IOException("Unknown step argument type: " + type);
+            }
+            return new Step(location, keyword, text, argument);
+        }
+
+        private Examples readExamples() throws IOException {
+            Location location = readLocation();
+            List<Tag> tags = readTags();
+            String keyword = readString();
+            String name = readString();
+            String description = readString();
+            TableRow tableHeader = readInt() == NONE ? null : readTableRow();
+            return new Examples(location, tags, keyword, name, description, tableHeader, readTableRows());
+        }
+
+        private List<TableRow> readTableRows() throws IOException {
+            int size = readInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            List<TableRow> rows = new ArrayList<TableRow>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(readTableRow());
+            }
+            return rows;
+        }
+
+        private TableRow readTableRow() throws IOException {
+            Location location = readLocation();
+            int size = readInt();
+            List<TableCell> cells = new ArrayList<TableCell>(size);
+            for (int i = 0; i < size; i++) {
+                cells.add(new TableCell(readLocation(), readString()));
+            }
+            return new TableRow(location, cells);
+        }
+
+        private List<Tag> readTags() throws IOException {
+            int size = readInt();
+            List<Tag> tags = new ArrayList<Tag>(size);
+            for (int i = 0; i < size; i++) {
+                tags.add(new Tag(readLocation(), readString()));
+            }
+            return tags;
+        }
+
+        private Location readLocation() throws IOException {
+            int line = readInt();
+            return new Location(line, readInt());
+        }
+
+        Pickle readPickle() throws IOException {
+            String name = readString();
+            String language = readString();
+            int stepsSize = readInt();
+            List<PickleStep> steps = new ArrayList<PickleStep>(stepsSize);
+            for (int i = 0; i < stepsSize; i++) {
+                steps.add(readPickleStep());
+            }
+            int tagsSize = readInt();
+            List<PickleTag> tags = new ArrayList<PickleTag>(tagsSize);
+            for (int i = 0; i < tagsSize; i++) {
+                tags.add(new PickleTag(readPickleLocation(), readString()));
+            }
+            return new Pickle(name, language, steps, tags, readPickleLocations());
+        }
+
+        private PickleStep readPickleStep() throws IOException {
+            String text = readString();
+            int size = readInt();
+            List<Argument> arguments = new ArrayList<Argument>(size);
+            for (int i = 0; i < size; i++) {
+                int type = readInt();
+                switch (type) {
+                    case DATA_TABLE:
+                        int rowsSize = readInt();
+                        List<PickleRow> rows = new ArrayList<PickleRow>(rowsSize);
+                        for (int j = 0; j < rowsSize; j++) {
+                            int cellsSize = readInt();
+                            List<PickleCell> cells = new ArrayList<PickleCell>(cellsSize);
+                            for (int k = 0; k < cellsSize; k++) {
+                                cells.add(new PickleCell(readPickleLocation(), readString()));
+                            }
+                            rows.add(new PickleRow(cells));
+                        }
+                        arguments.add(new PickleTable(rows));
+                        break;
+                    case DOC_STRING:
+                        PickleLocation location = readPickleLocation();
+                        arguments.add(new PickleString(location, readString()));
+                        break;
+                    default:
+                        throw new IOException("Unknown pickle argument type: " + type);
+                }
+            }
+            return new PickleStep(text, arguments, readPickleLocations());
+        }
+
+        private List<PickleLocation> readPickleLocations() throws IOException {
+            int size = readInt();
+            List<PickleLocation> locations = new ArrayList<PickleLocation>(size);
+            for (int i = 0; i < size; i++) {
+                locations.add(readPickleLocation());
+            }
+            return locations;
+        }
+
+        private PickleLocation readPickleLocation() throws IOException {
+            int line = readInt();
+            return new PickleLocation(line, readInt());
+        }
+
+        private String readString() throws IOException {
+            int value = readInt();
+            if (value == NULL_STRING) {
+                return null;
+            }
+            if (value == NEW_STRING) {
+                byte[] bytes = new byte[readInt()];
+                in.readFully(bytes);
+                String string = new String(bytes, UTF8);
+                strings.add(string);
+                return string;
+            }
+            int index = value - FIRST_STRING_REFERENCE;
+            if (index >= strings.size()) {
+                throw new IOException("Unknown string reference: " + index);
+            }
+            return strings.get(index);
+        }
+
+        int readInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed number");
+        }
+    }
+}
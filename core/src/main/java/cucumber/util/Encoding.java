@@ -1,41 +1,122 @@
 package cucumber.util;
 
+import cucumber.runtime.io.FileResource;
 import cucumber.runtime.io.Resource;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Utilities for reading the encoding of a file.
+ * <p>
+ * The bytes of a file are read once. Only the leading comment block is
+ * inspected for an {@code # encoding: ...} header before the bytes are
+ * decoded.
  */
 public class Encoding {
-    private static final Pattern COMMENT_OR_EMPTY_LINE_PATTERN = Pattern.compile("^\\s*#|^\\s*$");
     private static final Pattern ENCODING_PATTERN = Pattern.compile("^\\s*#\\s*encoding\\s*:\\s*([0-9a-zA-Z\\-]+)", Pattern.CASE_INSENSITIVE);
     public static final String DEFAULT_ENCODING = "UTF-8";
+    private static final Charset DEFAULT_CHARSET = Charset.forName(DEFAULT_ENCODING);
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
 
     public static String readFile(Resource resource) throws RuntimeException, IOException {
-        String source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), DEFAULT_ENCODING));
-        String enc = encoding(source);
-        if(!enc.equals(DEFAULT_ENCODING)) {
-            source = FixJava.readReader(new InputStreamReader(resource.getInputStream(), enc));
+        ByteBuffer bytes;
+        if (resource instanceof FileResource) {
+            bytes = read(((FileResource) resource).getFile());
+        } else {
+            bytes = read(resource.getInputStream());
         }
-        return source;
+        Charset charset = charset(encoding(bytes.array(), bytes.limit()));
+        return new String(bytes.array(), 0, bytes.limit(), charset);
     }
 
-    private static String encoding(String source) {
-        String encoding = DEFAULT_ENCODING;
-        for (String line : source.split("\\n")) {
-            if (!COMMENT_OR_EMPTY_LINE_PATTERN.matcher(line).find()) {
-                break;
+    private static ByteBuffer read(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
             }
-            Matcher matcher = ENCODING_PATTERN.matcher(line);
-            if (matcher.find()) {
-                encoding = matcher.group(1);
-                break;
+            ByteBuffer bytes = ByteBuffer.allocate((int) size);
+            while (bytes.hasRemaining() && channel.read(bytes) != -1) {
+                // read until the buffer is full
             }
+            bytes.flip();
+            return bytes;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static ByteBuffer read(InputStream in) throws IOException {
+        try {
+            byte[] bytes = new byte[0x2000];
+            int length = 0;
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+                length += read;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+            return ByteBuffer.wrap(bytes, 0, length);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Looks for the encoding header in the leading lines that are empty or
+     * comments. The header is ASCII, so the lines are inspected as bytes
+     * without decoding the file.
+     */
+    private static String encoding(byte[] bytes, int length) {
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int i = lineStart;
+            while (i < lineEnd && isWhitespace(bytes[i])) {
+                i++;
+            }
+            if (i < lineEnd) {
+                if (bytes[i] != '#') {
+                    break;
+                }
+                Matcher matcher = ENCODING_PATTERN.matcher(new String(bytes, lineStart, lineEnd - lineStart, ISO_8859_1));
+                if (matcher.find()) {
+                    return matcher.group(1).toUpperCase();
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return DEFAULT_ENCODING;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    private static Charset charset(String encoding) throws UnsupportedEncodingException {
+        if (DEFAULT_ENCODING.equals(encoding)) {
+            return DEFAULT_CHARSET;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
         }
-        return encoding.toUpperCase();
     }
 }
@@ -3,6 +3,7 @@ package io.cucumber.stepexpression;
 import io.cucumber.cucumberexpressions.Expression;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public final class StepExpression {
@@ -22,7 +23,10 @@ public final class StepExpression {
         if (match == null) {
             return null;
         }
-        return wrapPlusOne(match);
+        if (match.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return wrap(match, match.size());
     }
 
     public String getSource() {
@@ -30,7 +34,7 @@ public final class StepExpression {
     }
 
     public List<Argument> match(String text, List<List<String>> tableArgument) {
-        List<Argument> list = match(text);
+        List<Argument> list = matchPlusOne(text);
 
         if (list == null) {
             return null;
@@ -43,7 +47,7 @@ public final class StepExpression {
     }
 
     public List<Argument> match(String text, String docStringArgument) {
-        List<Argument> list = match(text);
+        List<Argument> list = matchPlusOne(text);
         if (list == null) {
             return null;
         }
@@ -53,11 +57,18 @@ public final class StepExpression {
         return list;
     }
 
+    private List<Argument> matchPlusOne(String text) {
+        List<io.cucumber.cucumberexpressions.Argument<?>> match = expression.match(text);
+        if (match == null) {
+            return null;
+        }
+        return wrap(match, match.size() + 1);
+    }
 
-    private static List<Argument> wrapPlusOne(List<io.cucumber.cucumberexpressions.Argument<?>> match) {
-        List<Argument> copy = new ArrayList<Argument>(match.size() + 1);
-        for (io.cucumber.cucumberexpressions.Argument<?> argument : match) {
-            copy.add(new ExpressionArgument(argument));
+    private static List<Argument> wrap(List<io.cucumber.cucumberexpressions.Argument<?>> match, int capacity) {
+        List<Argument> copy = new ArrayList<Argument>(capacity);
+        for (int i = 0; i < match.size(); i++) {
+            copy.add(new ExpressionArgument(match.get(i)));
         }
         return copy;
     }
@@ -9,13 +9,28 @@ import io.cucumber.cucumberexpressions.Expression;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Collections.singletonList;
 
+/**
+ * Creates step expressions.
+ * <p>
+ * Compiled expressions are cached by their source and shared between the
+ * step expressions created by this factory. A compiled expression only depends
+ * on the parameter types, so the cache is cleared when a parameter type is
+ * defined. Use {@link TypeRegistry#stepExpressionFactory()} to share the cache
+ * between all step definitions that use the same type registry.
+ */
 public final class StepExpressionFactory {
 
     private final io.cucumber.cucumberexpressions.ExpressionFactory expressionFactory;
     private final DataTableTypeRegistryTableConverter tableConverter;
+    private final ConcurrentMap<String, Expression> expressions = new ConcurrentHashMap<String, Expression>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     private static final DocStringTransformer<String> DOC_STRING_IDENTITY = new DocStringTransformer<String>() {
         @Override
@@ -31,7 +46,7 @@ public final class StepExpressionFactory {
 
     public StepExpression createExpression(String expressionString) {
         if (expressionString == null) throw new NullPointerException("expression can not be null");
-        Expression expression = expressionFactory.createExpression(expressionString);
+        Expression expression = compile(expressionString);
 
         RawTableTransformer<DataTable> toDataTable = new RawTableTransformer<DataTable>() {
             @Override
@@ -60,7 +75,7 @@ public final class StepExpressionFactory {
 
         final Expression expression;
         try {
-            expression = expressionFactory.createExpression(expressionString);
+            expression = compile(expressionString);
         } catch (UndefinedParameterTypeException e) {
             throw registerTypeInConfiguration(expressionString, e);
         }
@@ -83,6 +98,36 @@ public final class StepExpressionFactory {
         return new StepExpression(expression, docStringTransform, tableTransform);
     }
 
+    private Expression compile(String expressionString) {
+        Expression expression = expressions.get(expressionString);
+        if (expression != null) {
+            cacheHits.incrementAndGet();
+            return expression;
+        }
+        cacheMisses.incrementAndGet();
+        expression = expressionFactory.createExpression(expressionString);
+        Expression previous = expressions.putIfAbsent(expressionString, expression);
+        return previous == null ? expression : previous;
+    }
+
+    /**
+     * @return the number of expressions that were taken from the cache
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * @return the number of expressions that had to be compiled
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    void clearCache() {
+        expressions.clear();
+    }
+
     private CucumberException registerTypeInConfiguration(String expressionString, UndefinedParameterTypeException e) {
         return new CucumberException(String.format("" +
                 "Could not create a cucumber expression for '%s'.\n" +
@@ -13,10 +13,13 @@ public final class TypeRegistry implements cucumber.api.TypeRegistry {
 
     private final DataTableTypeRegistry dataTableTypeRegistry;
 
+    private final StepExpressionFactory stepExpressionFactory;
+
 
     public TypeRegistry(Locale locale) {
         parameterTypeRegistry = new ParameterTypeRegistry(locale);
         dataTableTypeRegistry = new DataTableTypeRegistry(locale);
+        stepExpressionFactory = new StepExpressionFactory(this);
     }
 
     public ParameterTypeRegistry parameterTypeRegistry() {
@@ -27,8 +30,16 @@ public final class TypeRegistry implements cucumber.api.TypeRegistry {
         return dataTableTypeRegistry;
     }
 
+    /**
+     * @return the step expression factory shared by all users of this registry
+     */
+    public StepExpressionFactory stepExpressionFactory() {
+        return stepExpressionFactory;
+    }
+
     public void defineParameterType(ParameterType<?> parameterType) {
         parameterTypeRegistry.defineParameterType(parameterType);
+        stepExpressionFactory.clearCache();
     }
 
     public void defineDataTableType(DataTableType tableType) {
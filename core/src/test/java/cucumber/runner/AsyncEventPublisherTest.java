@@ -0,0 +1,130 @@
+package cucumber.runner;
+
+import cucumber.api.PickleStepTestStep;
+import cucumber.api.event.Event;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestStepStarted;
+import cucumber.api.event.TimeStampedEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class AsyncEventPublisherTest {
+    private final EventBus bus = new EventBus(new TimeServiceStub(0));
+    private final AsyncEventPublisher publisher = new AsyncEventPublisher(bus, "test");
+
+    @Test
+    public void handlers_receive_events_in_order_on_another_thread() {
+        final List<TestStepStarted> received = new ArrayList<TestStepStarted>();
+        final List<Thread> threads = new ArrayList<Thread>();
+        publisher.registerHandlerFor(TestStepStarted.class, new EventHandler<TestStepStarted>() {
+            @Override
+            public void receive(TestStepStarted event) {
+                received.add(event);
+                threads.add(Thread.currentThread());
+            }
+        });
+
+        TestStepStarted first = new TestStepStarted(0L, mock(PickleStepTestStep.class));
+        TestStepStarted second = new TestStepStarted(1L, mock(PickleStepTestStep.class));
+        bus.send(first);
+        bus.send(second);
+        bus.send(new TestRunFinished(2L));
+
+        assertEquals(asList(first, second), received);
+        assertNotSame(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    public void handlers_receive_subtypes_of_the_events_they_registered_for() {
+        final List<Event> received = new ArrayList<Event>();
+        publisher.registerHandlerFor(TimeStampedEvent.class, new EventHandler<TimeStampedEvent>() {
+            @Override
+            public void receive(TimeStampedEvent event) {
+                received.add(event);
+            }
+        });
+
+        TestStepStarted testStepStarted = new TestStepStarted(0L, mock(PickleStepTestStep.class));
+        TestRunFinished testRunFinished = new TestRunFinished(1L);
+        bus.send(testStepStarted);
+        bus.send(testRunFinished);
+
+        assertEquals(asList(testStepStarted, testRunFinished), received);
+    }
+
+    @Test
+    public void test_run_finished_waits_for_handlers_to_complete() {
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<TestRunFinished> received = new ArrayList<TestRunFinished>();
+        publisher.registerHandlerFor(TestStepStarted.class, new EventHandler<TestStepStarted>() {
+            @Override
+            public void receive(TestStepStarted event) {
+                started.countDown();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, new EventHandler<TestRunFinished>() {
+            @Override
+            public void receive(TestRunFinished event) {
+                received.add(event);
+            }
+        });
+
+        bus.send(new TestStepStarted(0L, mock(PickleStepTestStep.class)));
+        TestRunFinished testRunFinished = new TestRunFinished(1L);
+        bus.send(testRunFinished);
+
+        assertEquals(0, started.getCount());
+        assertEquals(asList(testRunFinished), received);
+    }
+
+    @Test
+    public void rethrows_exception_of_handler_when_test_run_finishes() {
+        final IllegalStateException exception = new IllegalStateException();
+        publisher.registerHandlerFor(TestStepStarted.class, new EventHandler<TestStepStarted>() {
+            @Override
+            public void receive(TestStepStarted event) {
+                throw exception;
+            }
+        });
+
+        bus.send(new TestStepStarted(0L, mock(PickleStepTestStep.class)));
+        try {
+            bus.send(new TestRunFinished(1L));
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(exception, e);
+        }
+    }
+
+    @Test
+    public void delivers_events_sent_after_test_run_finished() {
+        final List<TestRunFinished> received = new ArrayList<TestRunFinished>();
+        publisher.registerHandlerFor(TestRunFinished.class, new EventHandler<TestRunFinished>() {
+            @Override
+            public void receive(TestRunFinished event) {
+                received.add(event);
+            }
+        });
+
+        bus.send(new TestRunFinished(0L));
+        bus.send(new TestRunFinished(1L));
+
+        assertEquals(2, received.size());
+    }
+}
@@ -0,0 +1,84 @@
+package cucumber.runner;
+
+import cucumber.api.PickleStepTestStep;
+import cucumber.api.event.EmbedEvent;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.TestCaseFinished;
+import cucumber.api.event.TestCaseStarted;
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestRunStarted;
+import cucumber.api.event.TestSourceRead;
+import cucumber.api.event.TestStepFinished;
+import cucumber.api.event.TestStepStarted;
+import cucumber.api.event.WriteEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures sending a step event to a bus with a handler for each event type,
+ * as registered by a typical formatter.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventBusBenchmark {
+
+    private EventBus bus;
+    private TestStepStarted event;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        bus = new EventBus(TimeService.SYSTEM);
+        register(TestRunStarted.class);
+        register(TestSourceRead.class);
+        register(TestCaseStarted.class);
+        register(TestStepStarted.class);
+        register(TestStepFinished.class);
+        register(WriteEvent.class);
+        register(EmbedEvent.class);
+        register(TestCaseFinished.class);
+        register(TestRunFinished.class);
+        event = new TestStepStarted(0L, mock(PickleStepTestStep.class));
+    }
+
+    private <T extends cucumber.api.event.Event> void register(Class<T> eventType) {
+        bus.registerHandlerFor(eventType, new EventHandler<T>() {
+            @Override
+            public void receive(T event) {
+                blackhole.consume(event);
+            }
+        });
+    }
+
+    @Benchmark
+    public void send() {
+        bus.send(event);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventBusBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -2,13 +2,18 @@ package cucumber.runner;
 
 import cucumber.api.PickleStepTestStep;
 import cucumber.api.Result;
+import cucumber.api.event.Event;
 import cucumber.api.event.EventHandler;
 import cucumber.api.event.TestStepFinished;
 import cucumber.api.event.TestStepStarted;
+import cucumber.api.event.TimeStampedEvent;
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class EventBusTest {
@@ -40,4 +45,51 @@ public class EventBusTest {
         verify(handler, never()).receive(event);
     }
 
+    @Test
+    public void handlers_receive_subtypes_of_the_events_they_registered_for() {
+        EventHandler<TimeStampedEvent> handler = mock(EventHandler.class);
+        PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+        TestStepStarted event = new TestStepStarted(0l, testStep);
+
+        EventBus bus = new EventBus(new TimeServiceStub(0));
+        bus.registerHandlerFor(TimeStampedEvent.class, handler);
+        bus.send(event);
+
+        verify(handler).receive(event);
+    }
+
+    @Test
+    public void handlers_receive_events_in_the_order_they_were_registered() {
+        EventHandler<Event> first = mock(EventHandler.class);
+        EventHandler<TestStepStarted> second = mock(EventHandler.class);
+        EventHandler<Event> third = mock(EventHandler.class);
+        PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+        TestStepStarted event = new TestStepStarted(0l, testStep);
+
+        EventBus bus = new EventBus(new TimeServiceStub(0));
+        bus.registerHandlerFor(Event.class, first);
+        bus.registerHandlerFor(TestStepStarted.class, second);
+        bus.registerHandlerFor(Event.class, third);
+        bus.send(event);
+
+        InOrder inOrder = inOrder(first, second, third);
+        inOrder.verify(first).receive(event);
+        inOrder.verify(second).receive(event);
+        inOrder.verify(third).receive(event);
+    }
+
+    @Test
+    public void handlers_registered_after_an_event_was_sent_receive_later_events() {
+        EventHandler<TestStepStarted> handler = mock(EventHandler.class);
+        PickleStepTestStep testStep = mock(PickleStepTestStep.class);
+        TestStepStarted event = new TestStepStarted(0l, testStep);
+
+        EventBus bus = new EventBus(new TimeServiceStub(0));
+        bus.send(event);
+        bus.registerHandlerFor(TestStepStarted.class, handler);
+        bus.send(event);
+
+        verify(handler, times(1)).receive(event);
+    }
+
 }
@@ -45,6 +45,7 @@ public class RunnerTest {
     @Test
     public void hooks_execute_when_world_exist() throws Throwable {
         PickleStep step = mock(PickleStep.class);
+        when(step.getText()).thenReturn("some step");
         HookDefinition beforeHook = addBeforeHook(runtime);
         HookDefinition afterHook = addAfterHook(runtime);
 
@@ -102,6 +103,7 @@ public class RunnerTest {
     @Test
     public void hooks_execute_also_after_failure() throws Throwable {
         PickleStep step = mock(PickleStep.class);
+        when(step.getText()).thenReturn("some step");
         HookDefinition failingBeforeHook = addBeforeHook(runtime);
         doThrow(RuntimeException.class).when(failingBeforeHook).execute(Matchers.<Scenario>any());
         HookDefinition beforeHook = addBeforeHook(runtime);
@@ -135,6 +137,7 @@ public class RunnerTest {
         Runtime runtime = createRuntime(backend, "--dry-run");
         Runner runner = runtime.getRunner();
         PickleStep step = mock(PickleStep.class);
+        when(step.getText()).thenReturn("some step");
         HookDefinition beforeHook = addBeforeHook(runtime);
         HookDefinition afterHook = addAfterHook(runtime);
         HookDefinition afterStepHook = addAfterStepHook(runtime);
@@ -162,6 +165,7 @@ public class RunnerTest {
     @Test
     public void backends_are_asked_for_snippets_for_undefined_steps() throws Throwable {
         PickleStep step = mock(PickleStep.class);
+        when(step.getText()).thenReturn("some step");
         runner.runPickle(createPickleEventWithSteps(asList(step)));
 
         verify(backend).getSnippet(Matchers.eq(step), Matchers.anyString(), Matchers.<FunctionNameGenerator>any());
@@ -210,10 +214,12 @@ public class RunnerTest {
         List<PickleStep> steps = new ArrayList<PickleStep>(stepDefinitions.size());
         int i = 0;
         for (StepDefinition stepDefinition : stepDefinitions) {
+            String pattern = "pattern" + Integer.toString(++i);
             PickleStep step = mock(PickleStep.class);
+            when(step.getText()).thenReturn(pattern);
             steps.add(step);
             when(stepDefinition.matchedArguments(step)).thenReturn(Collections.<Argument>emptyList());
-            when(stepDefinition.getPattern()).thenReturn("pattern" + Integer.toString(++i));
+            when(stepDefinition.getPattern()).thenReturn(pattern);
             runtime.getGlue().addStepDefinition(stepDefinition);
         }
         return new PickleEvent("uri", new Pickle(NAME, ENGLISH, steps, NO_TAGS, MOCK_LOCATIONS));
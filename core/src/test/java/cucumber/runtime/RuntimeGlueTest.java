@@ -8,6 +8,7 @@ import io.cucumber.stepexpression.StepExpressionFactory;
 import gherkin.pickles.Argument;
 import gherkin.pickles.PickleLocation;
 import gherkin.pickles.PickleStep;
+import gherkin.pickles.PickleString;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -23,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,21 +89,53 @@ public class RuntimeGlueTest {
     }
 
     @Test
-    public void removes_scenario_scoped_cache_entries() {
+    public void keeps_cache_entries_of_scenario_scoped_step_definitions_that_are_added_again() {
+        StepDefinition sd1 = getStepDefinitionMockWithPattern("pattern");
+        when(sd1.isScenarioScoped()).thenReturn(true);
+        glue.addStepDefinition(sd1);
+        String featurePath = "someFeature.feature";
+
+        assertEquals(sd1, glue.stepDefinitionMatch(featurePath, getPickleStep("pattern")).getStepDefinition());
+
+        glue.removeScenarioScopedGlue();
+        StepDefinition sd2 = getStepDefinitionMockWithPattern("pattern");
+        when(sd2.isScenarioScoped()).thenReturn(true);
+        glue.addStepDefinition(sd2);
+
+        assertEquals(1, glue.matchedStepDefinitionsCache.size());
+        assertEquals(sd2, glue.stepDefinitionMatch(featurePath, getPickleStep("pattern")).getStepDefinition());
+        verify(sd2, never()).matchedArguments(any(PickleStep.class));
+    }
+
+    @Test
+    public void does_not_return_cached_match_of_removed_scenario_scoped_step_definition() {
         StepDefinition sd = getStepDefinitionMockWithPattern("pattern");
         when(sd.isScenarioScoped()).thenReturn(true);
         glue.addStepDefinition(sd);
         String featurePath = "someFeature.feature";
 
-        String stepText = "pattern";
-        PickleStep pickleStep1 = getPickleStep(stepText);
-        assertEquals(sd, glue.stepDefinitionMatch(featurePath, pickleStep1).getStepDefinition());
-
-        assertEquals(1, glue.matchedStepDefinitionsCache.size());
+        assertEquals(sd, glue.stepDefinitionMatch(featurePath, getPickleStep("pattern")).getStepDefinition());
 
         glue.removeScenarioScopedGlue();
 
+        assertNull(glue.stepDefinitionMatch(featurePath, getPickleStep("pattern")));
+    }
+
+    @Test
+    public void clears_cache_when_scenario_scoped_step_definition_with_new_pattern_is_added() {
+        StepDefinition sd = getStepDefinitionMockWithPattern("^pattern[1,3]");
+        when(sd.isScenarioScoped()).thenReturn(true);
+        glue.addStepDefinition(sd);
+        String featurePath = "someFeature.feature";
+
+        assertEquals(sd, glue.stepDefinitionMatch(featurePath, getPickleStep("pattern1")).getStepDefinition());
+
+        StepDefinition other = getStepDefinitionMockWithPattern("pattern1");
+        when(other.isScenarioScoped()).thenReturn(true);
+        glue.addStepDefinition(other);
+
         assertEquals(0, glue.matchedStepDefinitionsCache.size());
+        checkAmbiguousCalled(featurePath);
     }
 
     @Test
@@ -111,7 +146,7 @@ public class RuntimeGlueTest {
 
         PickleStep pickleStep = getPickleStep("pattern");
         assertNull(glue.stepDefinitionMatch(featurePath, pickleStep));
-        verify(stepDefinition).matchedArguments(pickleStep);
+        verify(stepDefinition, never()).matchedArguments(pickleStep);
     }
 
     @Test
@@ -125,9 +160,9 @@ public class RuntimeGlueTest {
 
         PickleStep pickleStep1 = getPickleStep(stepText);
         assertEquals(stepDefinition1, glue.stepDefinitionMatch(featurePath, pickleStep1).getStepDefinition());
-        //verify if all defs are checked
+        //verify that only the defs with a matching literal prefix are checked
         verify(stepDefinition1).matchedArguments(pickleStep1);
-        verify(stepDefinition2).matchedArguments(pickleStep1);
+        verify(stepDefinition2, never()).matchedArguments(pickleStep1);
 
         //check cache
         RuntimeGlue.CacheEntry entry = glue.matchedStepDefinitionsCache.get(stepText);
@@ -137,8 +172,48 @@ public class RuntimeGlueTest {
         assertEquals(stepDefinition1, glue.stepDefinitionMatch(featurePath, pickleStep2).getStepDefinition());
         //verify that match wasn't called again
         verify(stepDefinition1).matchedArguments(any(PickleStep.class));
+        verify(stepDefinition2, never()).matchedArguments(any(PickleStep.class));
+
+    }
+
+    @Test
+    public void returns_match_with_arguments_from_cache() {
+        StepDefinition stepDefinition1 = getStepDefinitionMockWithPattern("I have {int} cukes");
+        StepDefinition stepDefinition2 = getStepDefinitionMockWithPattern("^(.*) gherkins$");
+        glue.addStepDefinition(stepDefinition1);
+        glue.addStepDefinition(stepDefinition2);
+        String featurePath = "someFeature.feature";
+        String stepText = "I have 5 cukes";
+
+        PickleStepDefinitionMatch match1 = glue.stepDefinitionMatch(featurePath, getPickleStep(stepText));
+        PickleStepDefinitionMatch match2 = glue.stepDefinitionMatch(featurePath, getPickleStep(stepText));
+
+        assertEquals(stepDefinition1, match2.getStepDefinition());
+        assertEquals(5, match2.getArguments().get(0).getValue());
+        assertEquals(match1.getArguments(), match2.getArguments());
+        //verify that match wasn't called again
+        verify(stepDefinition1).matchedArguments(any(PickleStep.class));
         verify(stepDefinition2).matchedArguments(any(PickleStep.class));
+    }
+
+    @Test
+    public void returns_match_with_doc_string_from_cached_step_definition() {
+        StepDefinition stepDefinition1 = getStepDefinitionMockWithPattern("I have {int} cukes");
+        StepDefinition stepDefinition2 = getStepDefinitionMockWithPattern("^(.*) gherkins$");
+        glue.addStepDefinition(stepDefinition1);
+        glue.addStepDefinition(stepDefinition2);
+        String featurePath = "someFeature.feature";
+        String stepText = "I have 5 cukes";
+
+        glue.stepDefinitionMatch(featurePath, getPickleStepWithDocString(stepText, "first"));
+        PickleStepDefinitionMatch match = glue.stepDefinitionMatch(featurePath, getPickleStepWithDocString(stepText, "second"));
 
+        assertEquals(stepDefinition1, match.getStepDefinition());
+        assertEquals(5, match.getArguments().get(0).getValue());
+        assertEquals("second", match.getArguments().get(1).getValue());
+        //verify that only the cached step definition was matched again
+        verify(stepDefinition1, times(2)).matchedArguments(any(PickleStep.class));
+        verify(stepDefinition2).matchedArguments(any(PickleStep.class));
     }
 
     @Test
@@ -156,6 +231,27 @@ public class RuntimeGlueTest {
         checkAmbiguousCalled(featurePath);
     }
 
+    @Test
+    public void only_checks_step_definitions_whose_literal_prefix_matches() {
+        StepDefinition stepDefinition1 = getStepDefinitionMockWithPattern("I have {int} cukes");
+        StepDefinition stepDefinition2 = getStepDefinitionMockWithPattern("^you have (\\d+) cukes$");
+        StepDefinition stepDefinition3 = getStepDefinitionMockWithPattern("^(.*) have 5 cukes$");
+        glue.addStepDefinition(stepDefinition1);
+        glue.addStepDefinition(stepDefinition2);
+        glue.addStepDefinition(stepDefinition3);
+        PickleStep pickleStep = getPickleStep("I have 5 cukes");
+
+        try {
+            glue.stepDefinitionMatch("someFeature.feature", pickleStep);
+            fail("should have failed");
+        } catch (AmbiguousStepDefinitionsException expected) {
+            assertEquals(2, expected.getMatches().size());
+        }
+        verify(stepDefinition1).matchedArguments(pickleStep);
+        verify(stepDefinition2, never()).matchedArguments(pickleStep);
+        verify(stepDefinition3).matchedArguments(pickleStep);
+    }
+
     private void checkAmbiguousCalled(String featurePath) {
         boolean ambiguousCalled = false;
         try {
@@ -172,6 +268,11 @@ public class RuntimeGlueTest {
         return new PickleStep(text, Collections.<Argument>emptyList(), Collections.<PickleLocation>emptyList());
     }
 
+    private static PickleStep getPickleStepWithDocString(String text, String docString) {
+        PickleString argument = new PickleString(mock(PickleLocation.class), docString);
+        return new PickleStep(text, Collections.<Argument>singletonList(argument), Collections.<PickleLocation>emptyList());
+    }
+
     private static StepDefinition getStepDefinitionMockWithPattern(String pattern) {
         StepExpression expression = new StepExpressionFactory(new TypeRegistry(ENGLISH)).createExpression(pattern);
         final ArgumentMatcher argumentMatcher = new ExpressionArgumentMatcher(expression);
@@ -183,7 +183,7 @@ public class RuntimeOptionsFactoryTest {
         // empty
     }
 
-    @CucumberOptions(plugin = "json:test-json-report.json")
+    @CucumberOptions(plugin = "json:target/test-json-report.json")
     static class BaseClassWithFormatter {
         // empty
     }
@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -72,7 +73,7 @@ public class RuntimeOptionsTest {
 
     @Test
     public void creates_html_formatter() {
-        RuntimeOptions options = new RuntimeOptions(asList("--plugin", "html:some/dir", "--glue", "somewhere"));
+        RuntimeOptions options = new RuntimeOptions(asList("--plugin", "html:target/some/dir", "--glue", "somewhere"));
         assertEquals("cucumber.runtime.formatter.HTMLFormatter", options.getPlugins().get(0).getClass().getName());
     }
 
@@ -119,6 +120,47 @@ public class RuntimeOptionsTest {
         assertFalse(options.isStrict());
     }
 
+    @Test
+    public void assigns_threads() {
+        RuntimeOptions options = new RuntimeOptions(asList("--threads", "4", "--glue", "somewhere"));
+        assertEquals(4, options.getThreads());
+    }
+
+    @Test
+    public void default_threads() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertEquals(1, options.getThreads());
+    }
+
+    @Test
+    public void assigns_cache_directory() {
+        RuntimeOptions options = new RuntimeOptions(asList("--cache", "target/cucumber-cache", "--glue", "somewhere"));
+        assertEquals("target/cucumber-cache", options.getCacheDirectory());
+    }
+
+    @Test
+    public void default_cache_directory() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertNull(options.getCacheDirectory());
+    }
+
+    @Test(expected = CucumberException.class)
+    public void fails_on_non_positive_threads() {
+        new RuntimeOptions(asList("--threads", "0", "--glue", "somewhere"));
+    }
+
+    @Test
+    public void assigns_async_plugins() {
+        RuntimeOptions options = new RuntimeOptions(asList("--async-plugins", "--glue", "somewhere"));
+        assertTrue(options.isAsyncPlugins());
+    }
+
+    @Test
+    public void default_async_plugins() {
+        RuntimeOptions options = new RuntimeOptions(asList("--glue", "somewhere"));
+        assertFalse(options.isAsyncPlugins());
+    }
+
     @Test
     public void name_without_spaces_is_preserved() {
         RuntimeOptions options = new RuntimeOptions(asList("--name", "someName"));
@@ -256,7 +298,7 @@ public class RuntimeOptionsTest {
     public void clobbers_formatter_plugins_from_cli_if_formatters_specified_in_cucumber_options_property() {
         Properties properties = new Properties();
         properties.setProperty("cucumber.options", "--plugin pretty");
-        RuntimeOptions options = new RuntimeOptions(new Env(properties), asList("--plugin", "html:some/dir", "--glue", "somewhere"));
+        RuntimeOptions options = new RuntimeOptions(new Env(properties), asList("--plugin", "html:target/some/dir", "--glue", "somewhere"));
         assertPluginExists(options.getPlugins(), "cucumber.runtime.formatter.PrettyFormatter");
         assertPluginNotExists(options.getPlugins(), "cucumber.runtime.formatter.HTMLFormatter");
     }
@@ -265,7 +307,7 @@ public class RuntimeOptionsTest {
     public void adds_to_formatter_plugins_with_add_plugin_option() {
         Properties properties = new Properties();
         properties.setProperty("cucumber.options", "--add-plugin pretty");
-        RuntimeOptions options = new RuntimeOptions(new Env(properties), asList("--plugin", "html:some/dir", "--glue", "somewhere"));
+        RuntimeOptions options = new RuntimeOptions(new Env(properties), asList("--plugin", "html:target/some/dir", "--glue", "somewhere"));
         assertPluginExists(options.getPlugins(), "cucumber.runtime.formatter.HTMLFormatter");
         assertPluginExists(options.getPlugins(), "cucumber.runtime.formatter.PrettyFormatter");
     }
@@ -8,6 +8,7 @@ import cucumber.api.TestCase;
 import io.cucumber.stepexpression.TypeRegistry;
 import cucumber.api.event.TestCaseFinished;
 import cucumber.api.Scenario;
+import cucumber.runner.TimeService;
 import cucumber.runtime.formatter.FormatterSpy;
 import cucumber.runtime.io.ClasspathResourceLoader;
 import cucumber.runtime.io.Resource;
@@ -44,6 +45,7 @@ import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyCollectionOf;
@@ -271,6 +273,63 @@ public class RuntimeTest {
         }
     }
 
+    @Test
+    public void should_not_interleave_test_case_events_when_running_in_parallel() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        RuntimeOptions runtimeOptions = new RuntimeOptions(asList("--threads", "2", "-p", "null",
+                "cucumber/runtime/formatter/JSONPrettyFormatterTest.feature"));
+        BackendSupplier backendSupplier = new BackendSupplier() {
+            @Override
+            public Collection<? extends Backend> get() {
+                return asList(mock(Backend.class));
+            }
+        };
+        Runtime runtime = new Runtime(new ClasspathResourceLoader(classLoader), classLoader, backendSupplier,
+                runtimeOptions, TimeService.SYSTEM, null);
+        FormatterSpy formatterSpy = new FormatterSpy();
+        runtimeOptions.addPlugin(formatterSpy);
+
+        runtime.run();
+
+        String testCase = "TestCase started\n(  TestStep started\n  TestStep finished\n)+TestCase finished\n";
+        assertTrue(formatterSpy.toString().matches("(" + testCase + "){4}TestRun finished\n"));
+    }
+
+    @Test
+    public void should_only_load_backends_on_the_runner_threads_when_running_in_parallel() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        RuntimeOptions runtimeOptions = new RuntimeOptions(asList("--threads", "2", "-p", "null",
+                "cucumber/runtime/formatter/JSONPrettyFormatterTest.feature"));
+        final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+        BackendSupplier backendSupplier = new BackendSupplier() {
+            @Override
+            public Collection<? extends Backend> get() {
+                threadNames.add(Thread.currentThread().getName());
+                return asList(mock(Backend.class));
+            }
+        };
+        Runtime runtime = new Runtime(new ClasspathResourceLoader(classLoader), classLoader, backendSupplier,
+                runtimeOptions, TimeService.SYSTEM, null);
+        assertTrue(threadNames.isEmpty());
+
+        runtime.run();
+
+        assertTrue(threadNames.size() <= 2);
+        for (String threadName : threadNames) {
+            assertThat(threadName, startsWith("cucumber-runner-"));
+        }
+    }
+
+    @Test
+    public void should_throw_cucumber_exception_when_running_fixed_backends_in_parallel() {
+        try {
+            createRuntime("--threads", "2");
+            fail("A CucumberException should have been thrown");
+        } catch (CucumberException e) {
+            assertEquals("Scenarios can not be executed in parallel with a predefined collection of backends.", e.getMessage());
+        }
+    }
+
     @Test
     public void should_make_scenario_name_available_to_hooks() throws Throwable {
         CucumberFeature feature = TestHelper.feature("path/test.feature",
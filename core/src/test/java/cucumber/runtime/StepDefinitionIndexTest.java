@@ -0,0 +1,98 @@
+package cucumber.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static cucumber.runtime.StepDefinitionIndex.literalPrefix;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StepDefinitionIndexTest {
+
+    @Test
+    public void literal_pattern_is_its_own_prefix() {
+        assertEquals("I have 5 cukes", literalPrefix("I have 5 cukes"));
+    }
+
+    @Test
+    public void cucumber_expression_prefix_ends_before_parameter() {
+        assertEquals("I have ", literalPrefix("I have {int} cukes"));
+    }
+
+    @Test
+    public void cucumber_expression_prefix_ends_before_alternative_word() {
+        assertEquals("I have ", literalPrefix("I have cukes/gherkins"));
+    }
+
+    @Test
+    public void cucumber_expression_prefix_ends_before_word_with_optional_text() {
+        assertEquals("I have ", literalPrefix("I have cuke(s)"));
+    }
+
+    @Test
+    public void regular_expression_prefix_ignores_anchors() {
+        assertEquals("I have 5 cukes", literalPrefix("^I have 5 cukes$"));
+    }
+
+    @Test
+    public void regular_expression_prefix_ends_before_group() {
+        assertEquals("I have ", literalPrefix("^I have (\\d+) cukes$"));
+    }
+
+    @Test
+    public void regular_expression_prefix_excludes_quantified_character() {
+        assertEquals("I have ", literalPrefix("^I have cukes?$"));
+        assertEquals("", literalPrefix("^I ?have cukes$"));
+    }
+
+    @Test
+    public void regular_expression_prefix_excludes_repeated_character() {
+        assertEquals("I ", literalPrefix("^I have{2} cukes$"));
+    }
+
+    @Test
+    public void regular_expression_with_alternation_has_no_prefix() {
+        assertEquals("", literalPrefix("^I have cukes|you have cukes$"));
+    }
+
+    @Test
+    public void regular_expression_with_flags_has_no_prefix() {
+        assertEquals("", literalPrefix("(?i)I have cukes"));
+    }
+
+    @Test
+    public void returns_candidates_ordered_by_pattern() {
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        StepDefinition haveCukes = stepDefinition("I have {int} cukes");
+        StepDefinition haveGherkins = stepDefinition("I have {int} gherkins");
+        StepDefinition eatCukes = stepDefinition("I eat {int} cukes");
+        StepDefinition anything = stepDefinition("^(.*)$");
+        index.add(haveGherkins);
+        index.add(haveCukes);
+        index.add(eatCukes);
+        index.add(anything);
+
+        assertEquals(asList(haveCukes, haveGherkins, anything), new ArrayList<StepDefinition>(index.candidates("I have 5 cukes")));
+    }
+
+    @Test
+    public void removed_step_definitions_are_no_candidates() {
+        StepDefinitionIndex index = new StepDefinitionIndex();
+        StepDefinition haveCukes = stepDefinition("I have {int} cukes");
+        index.add(haveCukes);
+        index.remove(haveCukes);
+
+        List<StepDefinition> candidates = new ArrayList<StepDefinition>(index.candidates("I have 5 cukes"));
+        assertEquals(0, candidates.size());
+    }
+
+    private static StepDefinition stepDefinition(String pattern) {
+        StepDefinition stepDefinition = mock(StepDefinition.class);
+        when(stepDefinition.getPattern()).thenReturn(pattern);
+        return stepDefinition;
+    }
+}
@@ -0,0 +1,78 @@
+package cucumber.runtime;
+
+import gherkin.pickles.Argument;
+import gherkin.pickles.PickleLocation;
+import gherkin.pickles.PickleStep;
+import io.cucumber.stepexpression.TypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matching a step against the step definition index of the
+ * {@link RuntimeGlue} with matching it against every step definition.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StepDefinitionMatchBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int stepDefinitions;
+
+    private RuntimeGlue glue;
+    private PickleStep step;
+
+    @Setup
+    public void setUp() {
+        TypeRegistry typeRegistry = new TypeRegistry(Locale.ENGLISH);
+        glue = new RuntimeGlue();
+        for (int i = 0; i < stepDefinitions; i++) {
+            glue.addStepDefinition(new StubStepDefinition("step definition " + i + " has {int} cukes", typeRegistry, Integer.class));
+        }
+        step = new PickleStep("step definition " + stepDefinitions / 2 + " has 42 cukes", Collections.<Argument>emptyList(), Collections.<PickleLocation>emptyList());
+    }
+
+    @Benchmark
+    public List<PickleStepDefinitionMatch> index() {
+        return glue.stepDefinitionMatches("benchmark.feature", step);
+    }
+
+    @Benchmark
+    public List<PickleStepDefinitionMatch> scan() {
+        List<PickleStepDefinitionMatch> result = new ArrayList<PickleStepDefinitionMatch>();
+        for (StepDefinition stepDefinition : glue.stepDefinitionsByPattern.values()) {
+            List<io.cucumber.stepexpression.Argument> arguments = stepDefinition.matchedArguments(step);
+            if (arguments != null) {
+                result.add(new PickleStepDefinitionMatch(arguments, stepDefinition, "benchmark.feature", step));
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StepDefinitionMatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
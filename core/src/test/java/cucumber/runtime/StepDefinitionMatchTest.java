@@ -158,6 +158,27 @@ public class StepDefinitionMatchTest {
 
     }
 
+    @Test
+    public void does_not_convert_arguments_in_dry_run() throws Throwable {
+        typeRegistry.defineParameterType(new ParameterType<ItemQuantity>(
+            "itemQuantity",
+            "(few|some|lots of) (cukes|gherkins)",
+            ItemQuantity.class,
+            new Transformer<ItemQuantity>() {
+                @Override
+                public ItemQuantity transform(String s) throws Throwable {
+                    throw new IllegalStateException("Should not be converted");
+                }
+            }));
+
+        PickleStep step = new PickleStep("I have some cukes in my belly", Collections.<gherkin.pickles.Argument>emptyList(), asList(mock(PickleLocation.class)));
+        StepDefinition stepDefinition = new StubStepDefinition("I have {itemQuantity} in my belly", typeRegistry, ItemQuantity.class);
+        List<Argument> arguments = stepDefinition.matchedArguments(step);
+
+        StepDefinitionMatch stepDefinitionMatch = new PickleStepDefinitionMatch(arguments, stepDefinition, null, step);
+        stepDefinitionMatch.dryRunStep(null, null);
+    }
+
     @Test
     public void throws_could_not_convert_exception_for_singleton_table_dimension_mismatch() throws Throwable {
         PickleTable table = new PickleTable(
@@ -0,0 +1,52 @@
+package cucumber.runtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead {@link Timeout} adds to a step or hook that finishes
+ * well within its timeout.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeoutBenchmark {
+
+    private final Timeout.Callback<Object> callback = new Timeout.Callback<Object>() {
+        @Override
+        public Object call() {
+            return this;
+        }
+    };
+
+    @Benchmark
+    public Object withoutTimeout() throws Throwable {
+        return Timeout.timeout(callback, 0);
+    }
+
+    @Benchmark
+    public Object withTimeout() throws Throwable {
+        return Timeout.timeout(callback, 1000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TimeoutBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -8,6 +8,7 @@ import java.util.concurrent.TimeoutException;
 import static java.lang.Thread.sleep;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -77,6 +78,13 @@ public class TimeoutTest {
 
     @Test
     public void doesnt_leak_threads() throws Throwable {
+        // The first timed invocation may start the shared timer thread.
+        Timeout.timeout(new Timeout.Callback<String>() {
+            @Override
+            public String call() throws Throwable {
+                return null;
+            }
+        }, 10);
 
         long initialNumberOfThreads = Thread.getAllStackTraces().size();
         long currentNumberOfThreads = Long.MAX_VALUE;
@@ -101,6 +109,50 @@ public class TimeoutTest {
                 cleanedUp);
     }
 
+    @Test
+    public void reuses_timer_thread() throws Throwable {
+        final Thread[] timerThreads = new Thread[2];
+        for (int i = 0; i < timerThreads.length; i++) {
+            final int index = i;
+            try {
+                Timeout.timeout(new Timeout.Callback<Void>() {
+                    @Override
+                    public Void call() throws Throwable {
+                        new Slow().infinite();
+                        return null;
+                    }
+                }, 10);
+                fail();
+            } catch (TimeoutException expected) {
+                // expected
+            }
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if ("cucumber-timeout".equals(thread.getName())) {
+                    timerThreads[index] = thread;
+                }
+            }
+        }
+        assertTrue(timerThreads[0].isDaemon());
+        assertSame(timerThreads[0], timerThreads[1]);
+    }
+
+    @Test
+    public void clears_interrupt_flag_after_time_out() throws Throwable {
+        try {
+            Timeout.timeout(new Timeout.Callback<Void>() {
+                @Override
+                public Void call() throws Throwable {
+                    new Slow().infinite();
+                    return null;
+                }
+            }, 10);
+            fail();
+        } catch (TimeoutException expected) {
+            // expected
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
     public static class Slow {
         int busyCounter = Integer.MIN_VALUE;
 
@@ -1,12 +1,19 @@
 package cucumber.runtime.formatter;
 
 import cucumber.api.Result;
+import cucumber.api.TestCase;
+import cucumber.api.event.TestCaseStarted;
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestSourceRead;
+import cucumber.runner.EventBus;
 import cucumber.runner.TimeServiceStub;
 import cucumber.runtime.Backend;
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.Runtime;
 import cucumber.runtime.RuntimeOptions;
 import cucumber.runtime.TestHelper;
+import cucumber.runtime.Utils;
 import cucumber.runtime.io.ClasspathResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
 import cucumber.runtime.snippets.FunctionNameGenerator;
@@ -20,6 +27,8 @@ import org.mockito.stubbing.Answer;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +43,8 @@ import static cucumber.runtime.TestHelper.createWriteHookAction;
 import static java.util.Arrays.asList;
 import static java.util.Collections.sort;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyListOf;
@@ -847,6 +858,95 @@ public class JSONFormatterTest {
         assertPrettyJsonEquals(expected, formatterOutput);
     }
 
+    @Test
+    public void should_write_embedding_to_embeddings_dir() throws Throwable {
+        File reportDir = TempDir.createTempDirectory();
+        File embeddingsDir = new File(reportDir, "embeddings");
+        Map<String, String> options = new HashMap<String, String>();
+        options.put("embeddings", embeddingsDir.getAbsolutePath());
+
+        String formatterOutput = runFeatureWithEmbedding(new byte[]{1, 2, 3}, reportUrl(reportDir), options);
+
+        // The SHA-1 of the data
+        String fileName = "7037807198c22a7d2b0807371d763779a84fdfcf.png";
+        assertTrue(formatterOutput, formatterOutput.contains("\"path\": \"embeddings/" + fileName + "\""));
+        assertFalse(formatterOutput, formatterOutput.contains("\"data\""));
+        FileInputStream embedding = new FileInputStream(new File(embeddingsDir, fileName));
+        byte[] data = new byte[4];
+        assertEquals(3, embedding.read(data));
+        embedding.close();
+        assertEquals(asList((byte) 1, (byte) 2, (byte) 3), asList(data[0], data[1], data[2]));
+    }
+
+    @Test
+    public void should_not_overwrite_embeddings_of_other_reports() throws Throwable {
+        File reportDir = TempDir.createTempDirectory();
+        Map<String, String> options = new HashMap<String, String>();
+        options.put("embeddings", new File(reportDir, "embeddings").getAbsolutePath());
+
+        runFeatureWithEmbedding(new byte[]{1, 2, 3}, reportUrl(reportDir), options);
+        runFeatureWithEmbedding(new byte[]{4, 5, 6}, reportUrl(reportDir), options);
+
+        assertEquals(2, new File(reportDir, "embeddings").list().length);
+    }
+
+    @Test
+    public void should_reference_embeddings_relative_to_the_report() throws MalformedURLException {
+        assertEquals("embeddings/a.png", JSONFormatter.path(new URL("file:/tmp/report.json/"), new URL("file:/tmp/embeddings/a.png")));
+        assertEquals("../embeddings/a.png", JSONFormatter.path(new URL("file:/tmp/reports/report.json/"), new URL("file:/tmp/embeddings/a.png")));
+        assertEquals("a.png", JSONFormatter.path(new URL("http://host/reports/report.json/"), new URL("http://host/reports/a.png")));
+    }
+
+    @Test
+    public void should_reference_embeddings_by_absolute_location_without_common_base() throws MalformedURLException {
+        assertEquals("http://other/embeddings/a.png", JSONFormatter.path(new URL("http://host/report.json/"), new URL("http://other/embeddings/a.png")));
+        assertEquals("http://host/embeddings/a.png", JSONFormatter.path(new URL("file:/tmp/report.json/"), new URL("http://host/embeddings/a.png")));
+        assertEquals(new File("/tmp/embeddings/a.png").getAbsolutePath().replace(File.separatorChar, '/'),
+                JSONFormatter.path(null, new URL("file:/tmp/embeddings/a.png")));
+    }
+
+    @Test
+    public void should_inline_embedding_smaller_than_embeddings_threshold() throws Throwable {
+        File reportDir = TempDir.createTempDirectory();
+        File embeddingsDir = new File(reportDir, "embeddings");
+        Map<String, String> options = new HashMap<String, String>();
+        options.put("embeddings", embeddingsDir.getAbsolutePath());
+        options.put("embeddingsThreshold", "4");
+
+        String formatterOutput = runFeatureWithEmbedding(new byte[]{1, 2, 3}, reportUrl(reportDir), options);
+
+        assertTrue(formatterOutput, formatterOutput.contains("\"data\": \"AQID\""));
+        assertFalse(embeddingsDir.exists());
+    }
+
+    @Test(expected = CucumberException.class)
+    public void should_fail_on_unknown_option() {
+        new JSONFormatter(new StringBuilder(), null, Collections.singletonMap("unknown", ""));
+    }
+
+    private static URL reportUrl(File reportDir) {
+        return Utils.toURL(new File(reportDir, "report.json").getAbsolutePath());
+    }
+
+    private String runFeatureWithEmbedding(byte[] data, URL reportUrl, Map<String, String> options) throws Throwable {
+        CucumberFeature feature = TestHelper.feature("path/test.feature", "" +
+                "Feature: Banana party\n" +
+                "\n" +
+                "  Scenario: Monkey eats bananas\n" +
+                "    Given there are bananas\n");
+        Map<String, Result> stepsToResult = new HashMap<String, Result>();
+        stepsToResult.put("there are bananas", result("passed"));
+        List<SimpleEntry<String, Result>> hooks = new ArrayList<SimpleEntry<String, Result>>();
+        hooks.add(TestHelper.hookEntry("before", result("passed")));
+        List<Answer<Object>> hookActions = new ArrayList<Answer<Object>>();
+        hookActions.add(createEmbedHookAction(data, "image/png"));
+
+        StringBuilder report = new StringBuilder();
+        TestHelper.runFeaturesWithFormatter(asList(feature), stepsToResult, Collections.<String, String>emptyMap(), hooks,
+                asList("Hooks.before_hook_1()"), hookActions, milliSeconds(1), new JSONFormatter(report, reportUrl, options));
+        return report.toString();
+    }
+
     @Test
     public void should_format_scenario_with_a_step_with_a_doc_string() throws Throwable {
         CucumberFeature feature = TestHelper.feature("path/test.feature", "" +
@@ -1135,6 +1235,34 @@ public class JSONFormatterTest {
         assertPrettyJsonEquals(expected, formatterOutput);
     }
 
+    @Test
+    public void should_write_feature_when_next_feature_starts() {
+        StringBuilder report = new StringBuilder();
+        EventBus bus = new EventBus(new TimeServiceStub(0));
+        createJsonFormatter(report).setEventPublisher(bus);
+        bus.send(new TestSourceRead(0L, "path/test1.feature", "Feature: Banana party\n\n  Scenario: Monkey eats bananas\n"));
+        bus.send(new TestSourceRead(0L, "path/test2.feature", "Feature: Orange party\n\n  Scenario: Monkey eats oranges\n"));
+
+        bus.send(new TestCaseStarted(0L, testCase("path/test1.feature", "Monkey eats bananas")));
+        assertEquals("", report.toString());
+
+        bus.send(new TestCaseStarted(0L, testCase("path/test2.feature", "Monkey eats oranges")));
+        assertTrue(report.toString().contains("Banana party"));
+        assertFalse(report.toString().contains("Orange party"));
+
+        bus.send(new TestRunFinished(0L));
+        assertTrue(report.toString().contains("Orange party"));
+    }
+
+    private TestCase testCase(String uri, String name) {
+        TestCase testCase = mock(TestCase.class);
+        when(testCase.getUri()).thenReturn(uri);
+        when(testCase.getName()).thenReturn(name);
+        when(testCase.getLine()).thenReturn(3);
+        when(testCase.getTags()).thenReturn(Collections.<PickleTag>emptyList());
+        return testCase;
+    }
+
     private void assertPrettyJsonEquals(final String expected, final String actual) {
         assertJsonEquals(expected, actual);
 
@@ -1218,7 +1346,7 @@ public class JSONFormatterTest {
         return report.toString();
     }
 
-    private JSONFormatter createJsonFormatter(final StringBuilder report) throws IOException {
+    private JSONFormatter createJsonFormatter(final StringBuilder report) {
         return new JSONFormatter(report);
     }
 
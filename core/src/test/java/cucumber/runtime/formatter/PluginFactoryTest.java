@@ -2,6 +2,7 @@ package cucumber.runtime.formatter;
 
 import cucumber.api.Result;
 import cucumber.api.PickleStepTestStep;
+import cucumber.api.event.TestRunFinished;
 import cucumber.api.event.TestStepFinished;
 import cucumber.runner.EventBus;
 import cucumber.runner.TimeServiceStub;
@@ -9,21 +10,35 @@ import cucumber.runtime.CucumberException;
 import cucumber.runtime.Utils;
 import cucumber.runtime.io.UTF8OutputStreamWriter;
 import org.junit.Test;
+import org.webbitserver.HttpControl;
+import org.webbitserver.HttpHandler;
+import org.webbitserver.HttpRequest;
+import org.webbitserver.HttpResponse;
+import org.webbitserver.WebServer;
+import org.webbitserver.netty.NettyWebServer;
+import org.webbitserver.rest.Rest;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
@@ -58,6 +73,45 @@ public class PluginFactoryTest {
         }
     }
 
+    @Test
+    public void instantiates_json_plugin_with_options() throws IOException {
+        File report = TempDir.createTempFile();
+        Object plugin = fc.create("json:" + report.getAbsolutePath() + "?embeddings=" + TempDir.createTempDirectory().getAbsolutePath());
+        assertEquals(JSONFormatter.class, plugin.getClass());
+    }
+
+    @Test
+    public void instantiates_json_plugin_with_url_query_as_output() throws Exception {
+        final BlockingQueue<String> uris = new LinkedBlockingDeque<String>();
+        WebServer webbit = new NettyWebServer(Executors.newSingleThreadExecutor(), new InetSocketAddress("127.0.0.1", 9874), URI.create("http://127.0.0.1:9874")).start().get();
+        try {
+            new Rest(webbit).PUT("/report", new HttpHandler() {
+                @Override
+                public void handleHttpRequest(HttpRequest req, HttpResponse res, HttpControl ctl) {
+                    uris.offer(req.uri());
+                    res.end();
+                }
+            });
+
+            JSONFormatter plugin = (JSONFormatter) fc.create("json:http://127.0.0.1:9874/report?token=abc");
+            EventBus bus = new EventBus(new TimeServiceStub(0));
+            plugin.setEventPublisher(bus);
+            bus.send(new TestRunFinished(bus.getTime()));
+
+            assertThat(uris.poll(1000, TimeUnit.MILLISECONDS), startsWith("/report?token=abc"));
+        } finally {
+            webbit.stop().get();
+        }
+    }
+
+    @Test
+    public void instantiates_json_plugin_with_unknown_option_as_part_of_the_output() throws IOException {
+        File dir = TempDir.createTempDirectory();
+        Object plugin = fc.create("json:" + dir.getAbsolutePath() + "/report.json?unknown=true");
+        assertEquals(JSONFormatter.class, plugin.getClass());
+        assertTrue(new File(dir, "report.json?unknown=true").isFile());
+    }
+
     @Test
     public void instantiates_pretty_plugin_with_file_arg() throws IOException {
         Object plugin = fc.create("pretty:" + Utils.toURL(TempDir.createTempFile().getAbsolutePath()));
@@ -0,0 +1,78 @@
+package cucumber.runtime.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static cucumber.runtime.io.FileResourceIterator.createClasspathFileResourceIterator;
+import static cucumber.runtime.io.FileResourceIterator.createFileResourceIterator;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class FileResourceIteratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void finds_files_with_suffix_in_order_of_their_names() throws IOException {
+        File root = temporaryFolder.getRoot();
+        newFile("b.feature");
+        newFile("a/z.feature");
+        newFile("a/y.txt");
+        newFile("a/b/x.feature");
+        newFile("c.feature");
+        newFolder("d.feature");
+
+        List<String> paths = paths(createClasspathFileResourceIterator(root, root, ".feature"));
+
+        assertEquals(asList(
+            "a/b/x.feature",
+            "a/z.feature",
+            "b.feature",
+            "c.feature"
+        ), paths);
+    }
+
+    @Test
+    public void finds_a_single_file() throws IOException {
+        File root = temporaryFolder.getRoot();
+        File file = newFile("a.txt");
+
+        List<String> paths = paths(createFileResourceIterator(root, file, ".feature"));
+
+        assertEquals(asList(file.getPath()), paths);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fails_on_missing_file() {
+        File root = temporaryFolder.getRoot();
+
+        createFileResourceIterator(root, new File(root, "missing"), ".feature");
+    }
+
+    private File newFile(String path) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), path);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return file;
+    }
+
+    private void newFolder(String path) {
+        new File(temporaryFolder.getRoot(), path).mkdirs();
+    }
+
+    private static List<String> paths(Iterator<Resource> iterator) {
+        List<String> paths = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            paths.add(iterator.next().getPath().replace(File.separatorChar, '/'));
+        }
+        return paths;
+    }
+}
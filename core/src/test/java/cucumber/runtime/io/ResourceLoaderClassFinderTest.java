@@ -0,0 +1,171 @@
+package cucumber.runtime.io;
+
+import cucumber.runtime.io.gluetest.AnnotatedGlue;
+import cucumber.runtime.io.gluetest.IndexedGlue;
+import cucumber.runtime.io.gluetest.NotIndexedGlue;
+import cucumber.runtime.io.gluetest.SubclassOfAnnotatedGlue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceLoaderClassFinderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void finds_classes_by_scanning_the_package() throws IOException {
+        File root = temporaryFolder.newFolder();
+        copyClass(IndexedGlue.class, root);
+        copyClass(NotIndexedGlue.class, root);
+
+        Set<String> classNames = findClassNames(root);
+
+        assertEquals(new HashSet<String>(asList(IndexedGlue.class.getName(), NotIndexedGlue.class.getName())), classNames);
+    }
+
+    @Test
+    public void only_loads_classes_listed_in_the_glue_index() throws IOException {
+        File root = temporaryFolder.newFolder();
+        copyClass(IndexedGlue.class, root);
+        copyClass(NotIndexedGlue.class, root);
+        write(new File(root, GlueIndex.RESOURCE_NAME), IndexedGlue.class.getName() + "\n");
+
+        Set<String> classNames = findClassNames(root);
+
+        assertEquals(new HashSet<String>(asList(IndexedGlue.class.getName())), classNames);
+    }
+
+    @Test
+    public void scans_the_package_when_a_class_path_entry_has_no_glue_index() throws IOException {
+        File indexed = temporaryFolder.newFolder();
+        copyClass(IndexedGlue.class, indexed);
+        write(new File(indexed, GlueIndex.RESOURCE_NAME), IndexedGlue.class.getName() + "\n");
+        File notIndexed = temporaryFolder.newFolder();
+        copyClass(NotIndexedGlue.class, notIndexed);
+
+        Set<String> classNames = findClassNames(indexed, notIndexed);
+
+        assertEquals(new HashSet<String>(asList(IndexedGlue.class.getName(), NotIndexedGlue.class.getName())), classNames);
+    }
+
+    @Test
+    public void only_loads_classes_accepted_by_the_class_file_filter() throws IOException {
+        File root = temporaryFolder.newFolder();
+        copyClass(AnnotatedGlue.class, root);
+        copyClass(SubclassOfAnnotatedGlue.class, root);
+        copyClass(NotIndexedGlue.class, root);
+        RecordingClassLoader classLoader = new RecordingClassLoader(root);
+        ResourceLoaderClassFinder classFinder = new ResourceLoaderClassFinder(new MultiLoader(classLoader), classLoader);
+
+        Collection<Class<?>> classes = classFinder.getDescendants(Object.class, "cucumber.runtime.io.gluetest", new ClassFileFilter("Ljava/lang/Deprecated;"));
+
+        Set<String> expected = new HashSet<String>(asList(AnnotatedGlue.class.getName(), SubclassOfAnnotatedGlue.class.getName()));
+        assertEquals(expected, classNames(classes));
+        assertEquals(expected, classLoader.loadedClassNames);
+    }
+
+    @Test
+    public void shares_the_classes_found_between_class_finders_using_the_same_class_loader() throws IOException {
+        File root = temporaryFolder.newFolder();
+        copyClass(IndexedGlue.class, root);
+        File classFile = copyClass(NotIndexedGlue.class, root);
+        ClassLoader classLoader = new RecordingClassLoader(root);
+        Set<String> expected = new HashSet<String>(asList(IndexedGlue.class.getName(), NotIndexedGlue.class.getName()));
+        assertEquals(expected, findClassNames(classLoader));
+
+        assertTrue(classFile.delete());
+
+        assertEquals(expected, findClassNames(classLoader));
+        assertEquals(new HashSet<String>(asList(IndexedGlue.class.getName())), findClassNames(root));
+    }
+
+    private static Set<String> findClassNames(File... roots) throws IOException {
+        return findClassNames(new RecordingClassLoader(roots));
+    }
+
+    private static Set<String> findClassNames(ClassLoader classLoader) {
+        ResourceLoaderClassFinder classFinder = new ResourceLoaderClassFinder(new MultiLoader(classLoader), classLoader);
+        return classNames(classFinder.getDescendants(Object.class, "cucumber.runtime.io.gluetest"));
+    }
+
+    private static Set<String> classNames(Collection<Class<?>> classes) {
+        Set<String> classNames = new HashSet<String>();
+        for (Class<?> clazz : classes) {
+            classNames.add(clazz.getName());
+        }
+        return classNames;
+    }
+
+    private static final class RecordingClassLoader extends URLClassLoader {
+        private final Set<String> loadedClassNames = new HashSet<String>();
+
+        RecordingClassLoader(File... roots) throws IOException {
+            // Without a parent the test classes are only found in the given roots
+            super(urls(roots), null);
+        }
+
+        private static URL[] urls(File... roots) throws IOException {
+            URL[] urls = new URL[roots.length];
+            for (int i = 0; i < roots.length; i++) {
+                urls[i] = roots[i].toURI().toURL();
+            }
+            return urls;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("cucumber.")) {
+                loadedClassNames.add(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    private static File copyClass(Class<?> clazz, File root) throws IOException {
+        String path = clazz.getName().replace('.', '/') + ".class";
+        File file = new File(root, path);
+        InputStream in = clazz.getClassLoader().getResourceAsStream(path);
+        try {
+            file.getParentFile().mkdirs();
+            OutputStream out = new FileOutputStream(file);
+            try {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        return file;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package cucumber.runtime.io;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static cucumber.util.FixJava.readStream;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ZipResourceIteratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void closeScopesOfUnfinishedRuns() {
+        // Runtimes created by other tests are not always finished
+        ZipIndex.closeAllScopes();
+    }
+
+    @Test
+    public void finds_entries_with_path_and_suffix_in_order() throws IOException {
+        File jar = jar("a.jar",
+            "com/acme/steps/Steps.class",
+            "com/acme/other/Other.class",
+            "com/acme/steps/sub/SubSteps.class",
+            "com/acme/steps/README.txt",
+            "com/acme/stepsmore/More.class",
+            "com/acme/steps/Hooks.class");
+
+        List<String> paths = paths(new ZipResourceIterator(jar.getPath(), "com/acme/steps/", ".class"));
+
+        assertEquals(asList(
+            "com/acme/steps/Hooks.class",
+            "com/acme/steps/Steps.class",
+            "com/acme/steps/sub/SubSteps.class"
+        ), paths);
+    }
+
+    @Test
+    public void shares_the_index_of_a_zip_file() throws IOException {
+        File jar = jar("a.jar", "a/A.class");
+
+        assertSame(ZipIndex.get(jar.getPath()), ZipIndex.get(jar.getPath()));
+    }
+
+    @Test
+    public void indexes_a_changed_zip_file_again() throws IOException {
+        File jar = jar("a.jar", "a/A.class");
+        paths(new ZipResourceIterator(jar.getPath(), "a/", ".class"));
+
+        jar("a.jar", "a/A.class", "a/B.class");
+        jar.setLastModified(jar.lastModified() + 2000);
+
+        assertEquals(asList("a/A.class", "a/B.class"), paths(new ZipResourceIterator(jar.getPath(), "a/", ".class")));
+    }
+
+    @Test
+    public void closes_the_zip_file_when_the_scope_is_closed() throws IOException {
+        File jar = jar("a.jar", "a/A.class");
+        ZipIndexScope scope = ZipIndexScope.open();
+        Resource resource = new ZipResourceIterator(jar.getPath(), "a/", ".class").next();
+        assertEquals("a/A.class", read(resource));
+
+        scope.close();
+
+        assertClosed(resource);
+    }
+
+    @Test
+    public void keeps_the_zip_file_open_while_another_scope_holds_it() throws IOException {
+        File jar = jar("a.jar", "a/A.class");
+        ZipIndexScope scope1 = ZipIndexScope.open();
+        ZipIndexScope scope2 = ZipIndexScope.open();
+        Resource resource = new ZipResourceIterator(jar.getPath(), "a/", ".class").next();
+
+        scope1.close();
+        scope1.close();
+        assertEquals("a/A.class", read(resource));
+
+        scope2.close();
+        assertClosed(resource);
+    }
+
+    @Test
+    public void holds_indexes_created_before_the_scope_opened() throws IOException {
+        File jar = jar("a.jar", "a/A.class");
+        Resource resource = new ZipResourceIterator(jar.getPath(), "a/", ".class").next();
+
+        ZipIndexScope.open().close();
+
+        assertClosed(resource);
+    }
+
+    @Test
+    public void closes_the_old_zip_file_when_the_last_scope_holding_it_is_closed() throws IOException {
+        File a = jar("a.jar", "a/A.class");
+        ZipIndexScope scope = ZipIndexScope.open();
+        Resource resource = new ZipResourceIterator(a.getPath(), "a/", ".class").next();
+
+        File b = jar("b.jar", "a/A.class", "a/B.class");
+        a.delete();
+        b.renameTo(a);
+        a.setLastModified(a.lastModified() + 2000);
+        assertEquals(asList("a/A.class", "a/B.class"), paths(new ZipResourceIterator(a.getPath(), "a/", ".class")));
+        assertEquals("a/A.class", read(resource));
+
+        scope.close();
+        assertClosed(resource);
+    }
+
+    private static String read(Resource resource) throws IOException {
+        return new String(readStream(resource.getInputStream()), "UTF-8");
+    }
+
+    private static void assertClosed(Resource resource) throws IOException {
+        try {
+            resource.getInputStream();
+            fail("The zip file is still open");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private File jar(String name, String... entryNames) throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), name);
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (String entryName : entryNames) {
+                out.putNextEntry(new ZipEntry(entryName));
+                out.write(entryName.getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+
+    private static List<String> paths(ZipResourceIterator iterator) {
+        List<String> paths = new ArrayList<String>();
+        while (iterator.hasNext()) {
+            paths.add(iterator.next().getPath());
+        }
+        return paths;
+    }
+}
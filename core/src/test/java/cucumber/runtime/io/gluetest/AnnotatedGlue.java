@@ -0,0 +1,7 @@
+package cucumber.runtime.io.gluetest;
+
+public class AnnotatedGlue {
+    @Deprecated
+    public void annotated() {
+    }
+}
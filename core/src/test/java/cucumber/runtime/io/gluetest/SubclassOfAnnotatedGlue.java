@@ -0,0 +1,4 @@
+package cucumber.runtime.io.gluetest;
+
+public class SubclassOfAnnotatedGlue extends AnnotatedGlue {
+}
@@ -1,19 +1,31 @@
 package cucumber.runtime.model;
 
+import cucumber.runtime.CucumberException;
 import cucumber.runtime.io.Resource;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class FeatureBuilderTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void ignores_duplicate_features() throws IOException {
         List<CucumberFeature> features = new ArrayList<CucumberFeature>();
@@ -28,6 +40,25 @@ public class FeatureBuilderTest {
         assertEquals(1, features.size());
     }
 
+    @Test
+    public void does_not_keep_the_features_on_the_parsing_thread() throws IOException, InterruptedException {
+        WeakReference<List<CucumberFeature>> features = parseOnThisThread();
+
+        for (int i = 0; i < 20 && features.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(features.get());
+    }
+
+    private WeakReference<List<CucumberFeature>> parseOnThisThread() throws IOException {
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        new FeatureBuilder(features).parse(createResourceMock("foo.feature"));
+        assertEquals(1, features.size());
+        return new WeakReference<List<CucumberFeature>>(features);
+    }
+
     @Test
     public void works_when_path_and_uri_are_the_same() throws IOException {
         char fileSeparatorChar = '/';
@@ -56,10 +87,70 @@ public class FeatureBuilderTest {
         assertEquals("path/foo.feature", features.get(0).getUri());
     }
 
+    @Test
+    public void parses_several_features_in_order_of_the_resources() throws IOException {
+        List<Resource> resources = new ArrayList<Resource>();
+        for (int i = 0; i < 20; i++) {
+            resources.add(createResourceMock("foo" + i + ".feature", "Feature: foo " + i));
+        }
+        resources.add(createResourceMock("duplicate.feature", "Feature: foo 3"));
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        FeatureBuilder builder = new FeatureBuilder(features, '/');
+
+        builder.parse(resources);
+
+        assertEquals(20, features.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("foo" + i + ".feature", features.get(i).getUri());
+            assertEquals("foo " + i, features.get(i).getGherkinFeature().getFeature().getName());
+        }
+    }
+
+    @Test
+    public void reports_the_first_feature_that_could_not_be_parsed() throws IOException {
+        List<Resource> resources = asList(
+            createResourceMock("foo.feature", "Feature: foo"),
+            createResourceMock("bar.feature", "Scenario: bar"),
+            createResourceMock("baz.feature", "Scenario: baz")
+        );
+        FeatureBuilder builder = new FeatureBuilder(new ArrayList<CucumberFeature>(), '/');
+
+        try {
+            builder.parse(resources);
+            fail("CucumberException was not thrown");
+        } catch (CucumberException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Scenario: bar"));
+        }
+    }
+
+    @Test
+    public void reads_unchanged_features_from_the_cache() throws IOException {
+        File cacheDirectory = temporaryFolder.newFolder();
+        List<CucumberFeature> features = new ArrayList<CucumberFeature>();
+        new FeatureBuilder(features, '/', new FeatureCache(cacheDirectory))
+            .parse(createResourceMock("foo.feature", "Feature: foo\n  Scenario: bar\n    Given baz\n"));
+        File[] entries = cacheDirectory.listFiles();
+        assertEquals(1, entries.length);
+        long lastModified = entries[0].lastModified();
+
+        List<CucumberFeature> cachedFeatures = new ArrayList<CucumberFeature>();
+        new FeatureBuilder(cachedFeatures, '/', new FeatureCache(cacheDirectory))
+            .parse(createResourceMock("foo.feature", "Feature: foo\n  Scenario: bar\n    Given baz\n"));
+
+        assertEquals(1, cachedFeatures.size());
+        assertEquals("foo.feature", cachedFeatures.get(0).getUri());
+        assertEquals("baz", cachedFeatures.get(0).getPickles().get(0).getSteps().get(0).getText());
+        assertEquals(lastModified, cacheDirectory.listFiles()[0].lastModified());
+    }
+
     private Resource createResourceMock(String featurePath) throws IOException {
+        return createResourceMock(featurePath, "Feature: foo");
+    }
+
+    private Resource createResourceMock(String featurePath, String source) throws IOException {
         Resource resource = mock(Resource.class);
         when(resource.getPath()).thenReturn(featurePath);
-        ByteArrayInputStream feature = new ByteArrayInputStream("Feature: foo".getBytes("UTF-8"));
+        ByteArrayInputStream feature = new ByteArrayInputStream(source.getBytes("UTF-8"));
         when(resource.getInputStream()).thenReturn(feature);
         return resource;
     }
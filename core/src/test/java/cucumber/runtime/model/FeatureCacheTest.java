@@ -0,0 +1,148 @@
+package cucumber.runtime.model;
+
+import gherkin.AstBuilder;
+import gherkin.Parser;
+import gherkin.TokenMatcher;
+import gherkin.ast.GherkinDocument;
+import gherkin.deps.com.google.gson.Gson;
+import gherkin.pickles.Compiler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class FeatureCacheTest {
+    private static final String SOURCE = "" +
+        "# language: en\n" +
+        "@feature-tag\n" +
+        "Feature: a feature\n" +
+        "  A description\n" +
+        "\n" +
+        "  Background: a background\n" +
+        "    Given a background step\n" +
+        "\n" +
+        "  # a comment\n" +
+        "  @scenario-tag\n" +
+        "  Scenario: a scenario\n" +
+        "    Given a data table\n" +
+        "      | a | b |\n" +
+        "      | 1 | 2 |\n" +
+        "    And a doc string\n" +
+        "      \"\"\"text/plain\n" +
+        "      content\n" +
+        "      \"\"\"\n" +
+        "\n" +
+        "  Scenario Outline: an outline with <x>\n" +
+        "    Given a step with <x>\n" +
+        "\n" +
+        "    @examples-tag\n" +
+        "    Examples: some examples\n" +
+        "      | x |\n" +
+        "      | 1 |\n" +
+        "      | 2 |\n" +
+        "\n" +
+        "    Examples: no examples\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reads_the_feature_written_for_the_same_source() throws IOException {
+        FeatureCache cache = new FeatureCache(temporaryFolder.newFolder());
+        CucumberFeature feature = feature(SOURCE);
+
+        cache.write(feature);
+        CucumberFeature cached = cache.read("other/path.feature", SOURCE);
+
+        assertNotNull(cached);
+        assertEquals("other/path.feature", cached.getUri());
+        Gson gson = new Gson();
+        assertEquals(gson.toJson(feature.getGherkinFeature()), gson.toJson(cached.getGherkinFeature()));
+        assertEquals(gson.toJson(feature.getPickles()), gson.toJson(cached.getPickles()));
+    }
+
+    @Test
+    public void reads_empty_feature() throws IOException {
+        FeatureCache cache = new FeatureCache(temporaryFolder.newFolder());
+        CucumberFeature feature = feature("# nothing here\n");
+
+        cache.write(feature);
+        CucumberFeature cached = cache.read("path.feature", "# nothing here\n");
+
+        assertNotNull(cached);
+        assertNull(cached.getGherkinFeature().getFeature());
+        assertEquals(1, cached.getGherkinFeature().getComments().size());
+    }
+
+    @Test
+    public void does_not_read_the_feature_of_another_source() throws IOException {
+        FeatureCache cache = new FeatureCache(temporaryFolder.newFolder());
+
+        cache.write(feature(SOURCE));
+
+        assertNull(cache.read("path.feature", SOURCE + "\n"));
+    }
+
+    @Test
+    public void ignores_corrupted_entries() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        FeatureCache cache = new FeatureCache(directory);
+        cache.write(feature(SOURCE));
+        for (File entry : directory.listFiles()) {
+            FileOutputStream out = new FileOutputStream(entry);
+            out.write(new byte[]{0, 0, 0, 1, 1, 42});
+            out.close();
+        }
+
+        assertNull(cache.read("path.feature", SOURCE));
+    }
+
+    @Test
+    public void creates_the_directory() throws IOException {
+        File directory = new File(temporaryFolder.getRoot(), "cucumber-cache");
+        FeatureCache cache = new FeatureCache(directory);
+
+        cache.write(feature(SOURCE));
+
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void skips_writing_when_the_directory_is_not_writable() throws IOException {
+        File notADirectory = temporaryFolder.newFile();
+        FeatureCache cache = new FeatureCache(new File(notADirectory, "cache"));
+
+        cache.write(feature(SOURCE));
+
+        assertNull(cache.read("path.feature", SOURCE));
+    }
+
+    @Test
+    public void skips_writing_when_the_entry_can_not_be_written() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        FeatureCache cache = new FeatureCache(directory);
+        cache.write(feature(SOURCE));
+        File entry = directory.listFiles()[0];
+        entry.delete();
+        // A directory in place of the entry can't be replaced by the written entry
+        entry.mkdir();
+        new File(entry, "child").createNewFile();
+
+        cache.write(feature(SOURCE));
+
+        assertNull(cache.read("path.feature", SOURCE));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    private static CucumberFeature feature(String source) {
+        GherkinDocument gherkinDocument = new Parser<GherkinDocument>(new AstBuilder()).parse(source, new TokenMatcher());
+        return new CucumberFeature(gherkinDocument, "path.feature", source, new Compiler().compile(gherkinDocument));
+    }
+}
@@ -0,0 +1,75 @@
+package cucumber.util;
+
+import cucumber.runtime.io.FileResource;
+import cucumber.runtime.io.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EncodingTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reads_utf8_by_default() throws IOException {
+        String source = "Feature: Fåtûré\n";
+
+        assertEquals(source, Encoding.readFile(resource(source.getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void reads_encoding_from_leading_comments() throws IOException {
+        String source = "\n# a comment\n  \t\r\n  # encoding: iso-8859-1\nFeature: Fåtûré\n";
+
+        assertEquals(source, Encoding.readFile(resource(source.getBytes("ISO-8859-1"))));
+    }
+
+    @Test
+    public void ignores_encoding_after_leading_comments() throws IOException {
+        String source = "Feature: Fåtûré\n# encoding: iso-8859-1\n";
+
+        assertEquals(source, Encoding.readFile(resource(source.getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void reads_file_resources() throws IOException {
+        String source = "# encoding: iso-8859-1\nFeature: Fåtûré\n";
+        File root = temporaryFolder.getRoot();
+        File file = temporaryFolder.newFile("test.feature");
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(source.getBytes("ISO-8859-1"));
+        out.close();
+
+        assertEquals(source, Encoding.readFile(FileResource.createFileResource(root, file)));
+    }
+
+    @Test
+    public void reads_empty_file_resources() throws IOException {
+        File root = temporaryFolder.getRoot();
+        File file = temporaryFolder.newFile("empty.feature");
+
+        assertEquals("", Encoding.readFile(FileResource.createFileResource(root, file)));
+    }
+
+    @Test(expected = UnsupportedEncodingException.class)
+    public void fails_on_unknown_encoding() throws IOException {
+        Encoding.readFile(resource("# encoding: no-such-encoding\n".getBytes("UTF-8")));
+    }
+
+    private static Resource resource(byte[] bytes) throws IOException {
+        Resource resource = mock(Resource.class);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(bytes));
+        return resource;
+    }
+}
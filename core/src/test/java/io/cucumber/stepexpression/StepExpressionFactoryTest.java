@@ -1,5 +1,7 @@
 package io.cucumber.stepexpression;
 
+import io.cucumber.cucumberexpressions.ParameterType;
+import io.cucumber.cucumberexpressions.Transformer;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.datatable.DataTableType;
 import io.cucumber.datatable.TableEntryTransformer;
@@ -94,6 +96,40 @@ public class StepExpressionFactoryTest {
         assertEquals(ingredient.name, "chocolate");
     }
 
+    @Test
+    public void shares_compiled_expressions_between_step_expressions() {
+        StepExpressionFactory factory = registry.stepExpressionFactory();
+        registry.defineDataTableType(new DataTableType(Ingredient.class, beanMapper(registry)));
+
+        StepExpression withTable = factory.createExpression("Given some stuff:");
+        StepExpression withIngredient = factory.createExpression("Given some stuff:", Ingredient.class);
+
+        assertEquals(1, factory.getCacheMisses());
+        assertEquals(1, factory.getCacheHits());
+        assertEquals(table, ((DataTable) withTable.match("Given some stuff:", table).get(0).getValue()).cells());
+        Ingredient ingredient = (Ingredient) withIngredient.match("Given some stuff:", tableTransposed).get(0).getValue();
+        assertEquals("chocolate", ingredient.name);
+    }
+
+    @Test
+    public void compiles_expressions_again_after_parameter_type_is_defined() {
+        StepExpressionFactory factory = registry.stepExpressionFactory();
+        factory.createExpression("I have {int} cukes");
+
+        registry.defineParameterType(new ParameterType<Ingredient>("ingredient", "chocolate", Ingredient.class, new Transformer<Ingredient>() {
+            @Override
+            public Ingredient transform(String name) {
+                Ingredient ingredient = new Ingredient();
+                ingredient.name = name;
+                return ingredient;
+            }
+        }));
+        factory.createExpression("I have {int} cukes");
+
+        assertEquals(2, factory.getCacheMisses());
+        assertEquals(0, factory.getCacheHits());
+    }
+
     private Type getTypeFromStepDefinition() {
         for (Method method : this.getClass().getMethods()) {
             if (method.getName().equals("fake_step_definition")) {
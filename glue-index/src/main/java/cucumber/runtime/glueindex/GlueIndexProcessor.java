@@ -0,0 +1,157 @@
+package cucumber.runtime.glueindex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes an index of the glue classes of a compilation to
+ * {@value #RESOURCE_NAME}.
+ * <p>
+ * The index lists the binary names of the classes that declare or inherit step
+ * definitions or hooks, and of the implementations of
+ * {@code cucumber.api.java8.GlueBase}, {@code cucumber.api.TypeRegistryConfigurer}
+ * and {@code cucumber.runtime.Backend}. When every class path entry containing
+ * a glue package has an index, Cucumber only loads the listed classes instead
+ * of scanning the package.
+ * <p>
+ * The index only contains the classes of a single compilation. Incremental
+ * compilers that only compile the changed sources produce an incomplete index.
+ */
+@SupportedAnnotationTypes("*")
+public final class GlueIndexProcessor extends AbstractProcessor {
+    static final String RESOURCE_NAME = "META-INF/cucumber/glue.index";
+
+    private static final String STEP_DEF_ANNOTATION = "cucumber.runtime.java.StepDefAnnotation";
+    private static final Set<String> HOOK_ANNOTATIONS = new HashSet<String>(Arrays.asList(
+        "cucumber.api.java.Before",
+        "cucumber.api.java.After",
+        "cucumber.api.java.BeforeStep",
+        "cucumber.api.java.AfterStep"
+    ));
+    private static final Set<String> GLUE_TYPES = new HashSet<String>(Arrays.asList(
+        "cucumber.api.java8.GlueBase",
+        "cucumber.api.TypeRegistryConfigurer",
+        "cucumber.runtime.Backend"
+    ));
+
+    private final Set<String> classNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                index(element);
+            }
+        }
+        // Other processors may be interested in the same annotations
+        return false;
+    }
+
+    private void index(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        if (isGlue(type)) {
+            classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            index(enclosed);
+        }
+    }
+
+    private boolean isGlue(TypeElement type) {
+        return hasGlueMethods(type) || isGlueType(type.asType());
+    }
+
+    private boolean hasGlueMethods(TypeElement type) {
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (Element enclosed : current.getEnclosedElements()) {
+                if (enclosed.getKind() == ElementKind.METHOD && hasGlueAnnotation(enclosed)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasGlueAnnotation(Element method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (HOOK_ANNOTATIONS.contains(annotationType.getQualifiedName().toString())) {
+                return true;
+            }
+            for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+                TypeElement metaAnnotationType = (TypeElement) metaAnnotation.getAnnotationType().asElement();
+                if (STEP_DEF_ANNOTATION.equals(metaAnnotationType.getQualifiedName().toString())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isGlueType(TypeMirror type) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (supertype.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            TypeElement supertypeElement = (TypeElement) ((DeclaredType) supertype).asElement();
+            if (GLUE_TYPES.contains(supertypeElement.getQualifiedName().toString()) || isGlueType(supertype)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE_NAME);
+            Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write " + RESOURCE_NAME + ": " + e.getMessage());
+        }
+    }
+}
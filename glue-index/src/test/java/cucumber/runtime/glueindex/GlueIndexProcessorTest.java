@@ -0,0 +1,128 @@
+package cucumber.runtime.glueindex;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GlueIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void indexes_glue_classes() throws IOException {
+        List<String> index = compile(
+            source("stepdefs.Steps", "" +
+                "package stepdefs;\n" +
+                "public class Steps {\n" +
+                "    @cucumber.api.java.en.Given(\"a step\")\n" +
+                "    public void a_step() {}\n" +
+                "}\n"),
+            source("stepdefs.Hooks", "" +
+                "package stepdefs;\n" +
+                "public class Hooks {\n" +
+                "    @cucumber.api.java.Before\n" +
+                "    public void before() {}\n" +
+                "}\n"),
+            source("stepdefs.SubSteps", "" +
+                "package stepdefs;\n" +
+                "public class SubSteps extends Steps {\n" +
+                "}\n"),
+            source("stepdefs.Outer", "" +
+                "package stepdefs;\n" +
+                "public class Outer {\n" +
+                "    public static class Inner {\n" +
+                "        @cucumber.api.java.en.When(\"a nested step\")\n" +
+                "        public void a_nested_step() {}\n" +
+                "    }\n" +
+                "}\n"),
+            source("stepdefs.Lambdas", "" +
+                "package stepdefs;\n" +
+                "public class Lambdas implements cucumber.api.java8.GlueBase {\n" +
+                "}\n"),
+            source("stepdefs.Configuration", "" +
+                "package stepdefs;\n" +
+                "public abstract class Configuration implements cucumber.api.TypeRegistryConfigurer {\n" +
+                "}\n"),
+            source("stepdefs.PageObject", "" +
+                "package stepdefs;\n" +
+                "public class PageObject {\n" +
+                "    public void click() {}\n" +
+                "}\n")
+        );
+
+        assertEquals(asList(
+            "stepdefs.Configuration",
+            "stepdefs.Hooks",
+            "stepdefs.Lambdas",
+            "stepdefs.Outer$Inner",
+            "stepdefs.Steps",
+            "stepdefs.SubSteps"
+        ), index);
+    }
+
+    @Test
+    public void writes_empty_index_without_glue() throws IOException {
+        List<String> index = compile(
+            source("stepdefs.PageObject", "" +
+                "package stepdefs;\n" +
+                "public class PageObject {\n" +
+                "}\n")
+        );
+
+        assertEquals(new ArrayList<String>(), index);
+    }
+
+    private List<String> compile(JavaFileObject... sources) throws IOException {
+        File output = temporaryFolder.newFolder();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+            asList("-d", output.getAbsolutePath(), "-classpath", System.getProperty("java.class.path")),
+            null,
+            asList(sources));
+        task.setProcessors(asList(new GlueIndexProcessor()));
+        assertTrue("compilation failed", task.call());
+        return read(new File(output, GlueIndexProcessor.RESOURCE_NAME));
+    }
+
+    private static List<String> read(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    private static JavaFileObject source(String className, final String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -10,4 +10,9 @@ import cucumber.runtime.java.guice.impl.ScenarioModule;
  */
 public class CucumberModules {
     public static final Module SCENARIO = new ScenarioModule(CucumberScopes.SCENARIO);
+
+    /**
+     * Binds <code>cucumber.api.guice.CucumberScopes.THREAD_LOCAL_SCENARIO</code>, for scenarios that run in parallel.
+     */
+    public static final Module THREAD_LOCAL_SCENARIO = new ScenarioModule(CucumberScopes.THREAD_LOCAL_SCENARIO);
 }
@@ -2,6 +2,7 @@ package cucumber.api.guice;
 
 import cucumber.runtime.java.guice.ScenarioScope;
 import cucumber.runtime.java.guice.impl.SequentialScenarioScope;
+import cucumber.runtime.java.guice.impl.ThreadLocalScenarioScope;
 
 /**
  * Provides a convenient <code>cucumber.runtime.java.guice.ScenarioScope</code> instance for use when declaring bindings
@@ -9,4 +10,9 @@ import cucumber.runtime.java.guice.impl.SequentialScenarioScope;
  */
 public class CucumberScopes {
     public static final ScenarioScope SCENARIO = new SequentialScenarioScope();
+
+    /**
+     * A scenario scope that allows one scenario per thread, for scenarios that run in parallel.
+     */
+    public static final ScenarioScope THREAD_LOCAL_SCENARIO = new ThreadLocalScenarioScope();
 }
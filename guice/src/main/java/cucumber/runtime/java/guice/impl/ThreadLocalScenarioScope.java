@@ -0,0 +1,78 @@
+package cucumber.runtime.java.guice.impl;
+
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Provider;
+import cucumber.runtime.java.guice.ScenarioScope;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A scenario scope that keeps the scoped objects of each thread apart.
+ * <p>
+ * Each thread can be in its own scoping block, so scenarios that run in
+ * parallel can share one injector and still get their own instances of the
+ * scenario scoped classes. A scoping block must be entered and exited by the
+ * same thread.
+ */
+public class ThreadLocalScenarioScope implements ScenarioScope {
+
+    private final ThreadLocal<Map<Key<?>, Object>> scenarioValues = new ThreadLocal<Map<Key<?>, Object>>();
+
+    /**
+     * Scopes a provider. The returned provider returns objects from the scoping
+     * block of the current thread. If an object does not exist in that block,
+     * the provider uses the given unscoped provider to retrieve one.
+     *
+     * @param key      binding key
+     * @param unscoped locates an instance when one doesn't already exist in this
+     *                 scope.
+     * @return a new provider which only delegates to the given unscoped provider
+     *         when an instance of the requested object doesn't already exist in the
+     *         scoping block of the current thread
+     */
+    @Override
+    public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+        return new Provider<T>() {
+            public T get() {
+                Map<Key<?>, Object> values = scenarioValues.get();
+                if (values == null) {
+                    throw new OutOfScopeException("Cannot access " + key + " outside of a scoping block");
+                }
+
+                @SuppressWarnings("unchecked")
+                T current = (T) values.get(key);
+                if (current == null && !values.containsKey(key)) {
+                    current = unscoped.get();
+                    values.put(key, current);
+                }
+                return current;
+            }
+
+            @Override
+            public String toString() {
+                return "ThreadLocalScenarioScope(" + unscoped + ")";
+            }
+        };
+    }
+
+    @Override
+    public void enterScope() {
+        checkState(scenarioValues.get() == null, "A scoping block is already in progress");
+        scenarioValues.set(new HashMap<Key<?>, Object>());
+    }
+
+    @Override
+    public void exitScope() {
+        checkState(scenarioValues.get() != null, "No scoping block in progress");
+        scenarioValues.remove();
+    }
+
+    private void checkState(boolean expression, String errorMessage) {
+        if (!expression) {
+            throw new IllegalStateException(errorMessage);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package cucumber.runtime.java.guice.impl;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import cucumber.api.guice.CucumberModules;
+import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.java.guice.ScenarioScope;
+import cucumber.runtime.java.guice.ScenarioScoped;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ThreadLocalScenarioScopeTest {
+
+    private static final int THREADS = 8;
+    private static final int SCENARIOS_PER_THREAD = 250;
+
+    @ScenarioScoped static class ScenarioScopedClass {}
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotEnterAScopingBlockTwiceOnOneThread() {
+        ScenarioScope scope = new ThreadLocalScenarioScope();
+        scope.enterScope();
+        try {
+            scope.enterScope();
+        } finally {
+            scope.exitScope();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotExitAScopingBlockThatWasNotEntered() {
+        new ThreadLocalScenarioScope().exitScope();
+    }
+
+    @Test
+    public void shouldGiveIsolatedInstancesToScenariosRunningInParallel() throws Exception {
+        final Injector injector = Guice.createInjector(Stage.PRODUCTION, CucumberModules.THREAD_LOCAL_SCENARIO);
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Object>>> futures = new ArrayList<Future<List<Object>>>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(new Callable<List<Object>>() {
+                    @Override
+                    public List<Object> call() throws Exception {
+                        ObjectFactory factory = new GuiceFactory(injector);
+                        List<Object> instances = new ArrayList<Object>();
+                        for (int scenario = 0; scenario < SCENARIOS_PER_THREAD; scenario++) {
+                            factory.start();
+                            try {
+                                if (scenario == 0) {
+                                    // Make sure all threads are in a scenario at the same time
+                                    barrier.await(10, TimeUnit.SECONDS);
+                                }
+                                ScenarioScopedClass instance = factory.getInstance(ScenarioScopedClass.class);
+                                Thread.yield();
+                                assertThat(factory.getInstance(ScenarioScopedClass.class), is(sameInstance(instance)));
+                                instances.add(instance);
+                            } finally {
+                                factory.stop();
+                            }
+                        }
+                        return instances;
+                    }
+                }));
+            }
+
+            Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            for (Future<List<Object>> future : futures) {
+                instances.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            assertThat(instances.size(), is(THREADS * SCENARIOS_PER_THREAD));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
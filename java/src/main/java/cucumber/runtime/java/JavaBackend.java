@@ -19,6 +19,7 @@ import cucumber.runtime.Glue;
 import cucumber.runtime.HookDefinition;
 import cucumber.runtime.StepDefinition;
 import cucumber.runtime.Utils;
+import cucumber.runtime.io.ClassFileFilter;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
 import cucumber.runtime.snippets.FunctionNameGenerator;
@@ -34,6 +35,9 @@ import java.util.List;
 
 public class JavaBackend implements Backend, LambdaGlueRegistry {
 
+    // GlueBase and the interfaces extending it are in cucumber.api.java8.
+    private static final ClassFileFilter GLUE_BASE_CLASS_FILES = new ClassFileFilter("cucumber/api/java8/");
+
     private final SnippetGenerator snippetGenerator;
     private final TypeRegistry typeRegistry;
 
@@ -83,7 +87,7 @@ public class JavaBackend implements Backend, LambdaGlueRegistry {
 
         // Scan for Java8 style glue (lambdas)
         for (final String gluePath : gluePaths) {
-            Collection<Class<? extends GlueBase>> glueDefinerClasses = classFinder.getDescendants(GlueBase.class, packageName(gluePath));
+            Collection<Class<? extends GlueBase>> glueDefinerClasses = glueBaseClasses(packageName(gluePath));
             for (final Class<? extends GlueBase> glueClass : glueDefinerClasses) {
                 if (glueClass.isInterface()) {
                     continue;
@@ -96,6 +100,14 @@ public class JavaBackend implements Backend, LambdaGlueRegistry {
         }
     }
 
+    private Collection<Class<? extends GlueBase>> glueBaseClasses(String packageName) {
+        if (classFinder instanceof ResourceLoaderClassFinder) {
+            // Classes that don't refer to a java8 glue interface are never loaded
+            return ((ResourceLoaderClassFinder) classFinder).getDescendants(GlueBase.class, packageName, GLUE_BASE_CLASS_FILES);
+        }
+        return classFinder.getDescendants(GlueBase.class, packageName);
+    }
+
     /**
      * Convenience method for frameworks that wish to load glue from methods explicitly (possibly
      * found with a different mechanism than Cucumber's built-in classpath scanning).
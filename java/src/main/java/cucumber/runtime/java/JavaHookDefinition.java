@@ -15,15 +15,18 @@ import java.util.Collection;
 import static java.util.Arrays.asList;
 
 class JavaHookDefinition implements HookDefinition {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
 
     private final Method method;
+    private final Class<?>[] parameterTypes;
     private final long timeoutMillis;
     private final TagPredicate tagPredicate;
     private final int order;
     private final ObjectFactory objectFactory;
 
     public JavaHookDefinition(Method method, String[] tagExpressions, int order, long timeoutMillis, ObjectFactory objectFactory) {
-        this.method = method;
+        this.method = Utils.makeAccessible(method);
+        this.parameterTypes = method.getParameterTypes();
         this.timeoutMillis = timeoutMillis;
         this.tagPredicate = new TagPredicate(asList(tagExpressions));
         this.order = order;
@@ -43,12 +46,12 @@ class JavaHookDefinition implements HookDefinition {
     @Override
     public void execute(Scenario scenario) throws Throwable {
         Object[] args;
-        switch (method.getParameterTypes().length) {
+        switch (parameterTypes.length) {
             case 0:
-                args = new Object[0];
+                args = NO_ARGUMENTS;
                 break;
             case 1:
-                if (!Scenario.class.equals(method.getParameterTypes()[0])) {
+                if (!Scenario.class.equals(parameterTypes[0])) {
                     throw new CucumberException("When a hook declares an argument it must be of type " + Scenario.class.getName() + ". " + method.toString());
                 }
                 args = new Object[]{scenario};
@@ -8,7 +8,6 @@ import io.cucumber.stepexpression.ExpressionArgumentMatcher;
 import cucumber.runtime.MethodFormat;
 import cucumber.runtime.StepDefinition;
 import io.cucumber.stepexpression.StepExpression;
-import io.cucumber.stepexpression.StepExpressionFactory;
 import cucumber.runtime.Utils;
 import gherkin.pickles.PickleStep;
 
@@ -28,7 +27,7 @@ class JavaStepDefinition implements StepDefinition {
                        long timeoutMillis,
                        ObjectFactory objectFactory,
                        TypeRegistry typeRegistry) {
-        this.method = method;
+        this.method = Utils.makeAccessible(method);
         this.timeoutMillis = timeoutMillis;
         this.objectFactory = objectFactory;
         this.parameterInfos = ParameterInfo.fromMethod(method);
@@ -37,10 +36,10 @@ class JavaStepDefinition implements StepDefinition {
 
     private StepExpression createExpression(String expression, TypeRegistry typeRegistry) {
         if (parameterInfos.isEmpty()) {
-            return new StepExpressionFactory(typeRegistry).createExpression(expression);
+            return typeRegistry.stepExpressionFactory().createExpression(expression);
         } else {
             ParameterInfo parameterInfo = parameterInfos.get(parameterInfos.size() - 1);
-            return new StepExpressionFactory(typeRegistry).createExpression(expression, parameterInfo.getType(), parameterInfo.isTransposed());
+            return typeRegistry.stepExpressionFactory().createExpression(expression, parameterInfo.getType(), parameterInfo.isTransposed());
         }
     }
 
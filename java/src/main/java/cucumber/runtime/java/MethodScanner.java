@@ -7,15 +7,21 @@ import cucumber.api.java.BeforeStep;
 import cucumber.runtime.ClassFinder;
 import cucumber.runtime.CucumberException;
 import cucumber.runtime.Utils;
+import cucumber.runtime.io.ClassFileFilter;
+import cucumber.runtime.io.ResourceLoaderClassFinder;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
 
 import static cucumber.runtime.io.MultiLoader.packageName;
 
 class MethodScanner {
 
+    // The step definition and hook annotations are in cucumber.api.java and its sub packages.
+    private static final ClassFileFilter GLUE_CODE_CLASS_FILES = new ClassFileFilter("Lcucumber/api/java/");
+
     private final ClassFinder classFinder;
 
     public MethodScanner(ClassFinder classFinder) {
@@ -30,7 +36,7 @@ class MethodScanner {
      */
     public void scan(JavaBackend javaBackend, List<String> gluePaths) {
         for (String gluePath : gluePaths) {
-            for (Class<?> glueCodeClass : classFinder.getDescendants(Object.class, packageName(gluePath))) {
+            for (Class<?> glueCodeClass : glueCodeClasses(packageName(gluePath))) {
                 while (glueCodeClass != null && glueCodeClass != Object.class && !Utils.isInstantiable(glueCodeClass)) {
                     // those can't be instantiated without container class present.
                     glueCodeClass = glueCodeClass.getSuperclass();
@@ -47,6 +53,14 @@ class MethodScanner {
         }
     }
 
+    private Collection<Class<?>> glueCodeClasses(String packageName) {
+        if (classFinder instanceof ResourceLoaderClassFinder) {
+            // Classes that don't refer to any of the annotations are never loaded
+            return ((ResourceLoaderClassFinder) classFinder).getDescendants(Object.class, packageName, GLUE_CODE_CLASS_FILES);
+        }
+        return classFinder.getDescendants(Object.class, packageName);
+    }
+
     /**
      * Registers step definitions and hooks.
      *
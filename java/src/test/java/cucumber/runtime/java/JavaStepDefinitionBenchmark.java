@@ -0,0 +1,86 @@
+package cucumber.runtime.java;
+
+import cucumber.api.Scenario;
+import io.cucumber.stepexpression.TypeRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the overhead of invoking a step definition and a hook compared
+ * to invoking the underlying method directly.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JavaStepDefinitionBenchmark {
+
+    private final Steps steps = new Steps();
+    private final Object[] arguments = new Object[]{42};
+
+    private JavaStepDefinition stepDefinition;
+    private JavaHookDefinition hookDefinition;
+    private Scenario scenario;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SingletonFactory objectFactory = new SingletonFactory(steps);
+        TypeRegistry typeRegistry = new TypeRegistry(Locale.ENGLISH);
+        stepDefinition = new JavaStepDefinition(Steps.class.getMethod("cukes", int.class), "I have {int} cukes", 0, objectFactory, typeRegistry);
+        hookDefinition = new JavaHookDefinition(Steps.class.getMethod("before", Scenario.class), new String[0], 0, 0, objectFactory);
+        scenario = mock(Scenario.class);
+    }
+
+    @Benchmark
+    public int direct() {
+        return steps.cukes(42);
+    }
+
+    @Benchmark
+    public int stepDefinition() throws Throwable {
+        stepDefinition.execute("en", arguments);
+        return steps.cukes;
+    }
+
+    @Benchmark
+    public int hookDefinition() throws Throwable {
+        hookDefinition.execute(scenario);
+        return steps.cukes;
+    }
+
+    public static class Steps {
+        int cukes;
+
+        public int cukes(int cukes) {
+            return this.cukes = cukes;
+        }
+
+        public void before(Scenario scenario) {
+            cukes++;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JavaStepDefinitionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
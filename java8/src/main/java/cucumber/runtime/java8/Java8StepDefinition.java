@@ -12,7 +12,6 @@ import cucumber.runtime.CucumberException;
 import io.cucumber.stepexpression.ExpressionArgumentMatcher;
 import cucumber.runtime.StepDefinition;
 import io.cucumber.stepexpression.StepExpression;
-import io.cucumber.stepexpression.StepExpressionFactory;
 import cucumber.runtime.Utils;
 import gherkin.pickles.PickleStep;
 import io.cucumber.stepexpression.TypeResolver;
@@ -20,101 +19,94 @@ import io.cucumber.stepexpression.TypeResolver;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A step definition backed by a lambda.
+ * <p>
+ * Lambda step definitions are created again for every scenario because the
+ * lambda may capture the state of the glue instance. Everything that does not
+ * depend on that state - the step expression, the accept method, the parameter
+ * types and the location - is compiled once per type registry, lambda class
+ * and expression and shared by the step definitions created afterwards.
+ */
 public class Java8StepDefinition implements StepDefinition {
 
+    private static final Map<TypeRegistry, Map<Key, CompiledDefinition>> COMPILED_DEFINITIONS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
     public static <T extends StepdefBody> Java8StepDefinition create(
         String expression, Class<T> bodyClass, T body, TypeRegistry typeRegistry) {
-        return new Java8StepDefinition(expression, 0, bodyClass, body, typeRegistry);
+        return new Java8StepDefinition(compile(expression, bodyClass, body, typeRegistry), 0, body);
     }
 
     public static <T extends StepdefBody> StepDefinition create(
         String expression, long timeoutMillis, Class<T> bodyClass, T body, TypeRegistry typeRegistry) {
-        return new Java8StepDefinition(expression, timeoutMillis, bodyClass, body, typeRegistry);
+        return new Java8StepDefinition(compile(expression, bodyClass, body, typeRegistry), timeoutMillis, body);
     }
 
+    private final CompiledDefinition definition;
     private final long timeoutMillis;
     private final StepdefBody body;
 
-    private final StepExpression expression;
-    private final StackTraceElement location;
-
-    private final List<ParameterInfo> parameterInfos;
-    private final Method method;
-
-    private <T extends StepdefBody> Java8StepDefinition(String expression,
-                                                        long timeoutMillis,
-                                                        Class<T> bodyClass,
-                                                        T body,
-                                                        TypeRegistry typeRegistry) {
+    private Java8StepDefinition(CompiledDefinition definition, long timeoutMillis, StepdefBody body) {
+        this.definition = definition;
         this.timeoutMillis = timeoutMillis;
         this.body = body;
-
-        this.location = new Exception().getStackTrace()[5];
-        this.method = getAcceptMethod(body.getClass());
-        this.parameterInfos = fromTypes(resolveRawArguments(bodyClass, body.getClass()));
-        this.expression = createExpression(expression, typeRegistry);
     }
 
-    private StepExpression createExpression(String expression, TypeRegistry typeRegistry) {
-        if (parameterInfos.isEmpty()) {
-            return new StepExpressionFactory(typeRegistry).createExpression(expression);
-        } else {
-            ParameterInfo parameterInfo = parameterInfos.get(parameterInfos.size() - 1);
-            return new StepExpressionFactory(typeRegistry).createExpression(expression, new LambdaTypeResolver(parameterInfo));
+    /**
+     * Must be called directly from {@code create} so the location of the step
+     * definition can be found at a fixed depth in the stack trace.
+     */
+    private static <T extends StepdefBody> CompiledDefinition compile(String expression, Class<T> bodyClass, T body, TypeRegistry typeRegistry) {
+        Map<Key, CompiledDefinition> compiledDefinitions = COMPILED_DEFINITIONS.computeIfAbsent(
+            typeRegistry, registry -> new ConcurrentHashMap<>());
+        Key key = new Key(body.getClass(), expression);
+        CompiledDefinition definition = compiledDefinitions.get(key);
+        if (definition == null) {
+            StackTraceElement location = new Exception().getStackTrace()[5];
+            definition = new CompiledDefinition(expression, bodyClass, body.getClass(), location, typeRegistry);
+            compiledDefinitions.put(key, definition);
         }
-    }
-
-    private Method getAcceptMethod(Class<? extends StepdefBody> bodyClass) {
-        List<Method> acceptMethods = new ArrayList<>();
-        for (Method method : bodyClass.getDeclaredMethods()) {
-            if (!method.isBridge() && !method.isSynthetic() && "accept".equals(method.getName())) {
-                acceptMethods.add(method);
-            }
-        }
-        if (acceptMethods.size() != 1) {
-            throw new IllegalStateException(format(
-                "Expected single 'accept' method on body class, found '%s'", acceptMethods));
-        }
-        return acceptMethods.get(0);
-    }
-
-    private CucumberException withLocation(CucumberException exception) {
-        exception.setStackTrace(new StackTraceElement[]{this.location});
-        return exception;
+        return definition;
     }
 
     @Override
     public List<Argument> matchedArguments(PickleStep step) {
-        ArgumentMatcher argumentMatcher = new ExpressionArgumentMatcher(expression);
+        ArgumentMatcher argumentMatcher = new ExpressionArgumentMatcher(definition.expression);
         return argumentMatcher.argumentsFrom(step);
     }
 
     @Override
     public String getLocation(boolean detail) {
-        return location.getFileName() + ":" + location.getLineNumber();
+        return definition.location.getFileName() + ":" + definition.location.getLineNumber();
     }
 
     @Override
     public Integer getParameterCount() {
-        return parameterInfos.size();
+        return definition.parameterInfos.size();
     }
 
     @Override
     public void execute(final String language, final Object[] args) throws Throwable {
-        Utils.invoke(body, method, timeoutMillis, args);
+        Utils.invoke(body, definition.method, timeoutMillis, args);
     }
 
     @Override
     public boolean isDefinedAt(StackTraceElement stackTraceElement) {
+        StackTraceElement location = definition.location;
         return location.getFileName() != null && location.getFileName().equals(stackTraceElement.getFileName());
     }
 
     @Override
     public String getPattern() {
-        return expression.getSource();
+        return definition.expression.getSource();
     }
 
     @Override
@@ -122,13 +114,80 @@ public class Java8StepDefinition implements StepDefinition {
         return true;
     }
 
-    private final class LambdaTypeResolver implements TypeResolver {
+    private static final class Key {
+        private final Class<?> bodyClass;
+        private final String expression;
+
+        Key(Class<?> bodyClass, String expression) {
+            this.bodyClass = bodyClass;
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return bodyClass.equals(key.bodyClass) && expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bodyClass, expression);
+        }
+    }
+
+    private static final class CompiledDefinition {
+        private final StackTraceElement location;
+        private final Method method;
+        private final List<ParameterInfo> parameterInfos;
+        private final StepExpression expression;
+
+        <T extends StepdefBody> CompiledDefinition(String expression,
+                                                   Class<T> bodyClass,
+                                                   Class<?> lambdaClass,
+                                                   StackTraceElement location,
+                                                   TypeRegistry typeRegistry) {
+            this.location = location;
+            this.method = Utils.makeAccessible(getAcceptMethod(lambdaClass));
+            this.parameterInfos = fromTypes(resolveRawArguments(bodyClass, lambdaClass));
+            this.expression = createExpression(expression, typeRegistry);
+        }
 
+        private StepExpression createExpression(String expression, TypeRegistry typeRegistry) {
+            if (parameterInfos.isEmpty()) {
+                return typeRegistry.stepExpressionFactory().createExpression(expression);
+            } else {
+                ParameterInfo parameterInfo = parameterInfos.get(parameterInfos.size() - 1);
+                return typeRegistry.stepExpressionFactory().createExpression(expression, new LambdaTypeResolver(parameterInfo, expression, location));
+            }
+        }
+
+        private static Method getAcceptMethod(Class<?> bodyClass) {
+            List<Method> acceptMethods = new ArrayList<>();
+            for (Method method : bodyClass.getDeclaredMethods()) {
+                if (!method.isBridge() && !method.isSynthetic() && "accept".equals(method.getName())) {
+                    acceptMethods.add(method);
+                }
+            }
+            if (acceptMethods.size() != 1) {
+                throw new IllegalStateException(format(
+                    "Expected single 'accept' method on body class, found '%s'", acceptMethods));
+            }
+            return acceptMethods.get(0);
+        }
+    }
+
+    private static final class LambdaTypeResolver implements TypeResolver {
 
         private final ParameterInfo parameterInfo;
+        private final String expression;
+        private final StackTraceElement location;
 
-        LambdaTypeResolver(ParameterInfo parameterInfo) {
+        LambdaTypeResolver(ParameterInfo parameterInfo, String expression, StackTraceElement location) {
             this.parameterInfo = parameterInfo;
+            this.expression = expression;
+            this.location = location;
         }
 
         @Override
@@ -145,10 +204,15 @@ public class Java8StepDefinition implements StepDefinition {
                             format("Can't use %s in lambda step definition \"%s\". " +
                                     "Declare a DataTable argument instead and convert " +
                                     "manually with asList/asLists/asMap/asMaps",
-                                argumentClass.getName(), expression.getSource())));
+                                argumentClass.getName(), expression)));
                 }
             }
             return argumentType;
         }
+
+        private CucumberException withLocation(CucumberException exception) {
+            exception.setStackTrace(new StackTraceElement[]{location});
+            return exception;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package cucumber.runtime.java8;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 import io.cucumber.stepexpression.TypeRegistry;
@@ -7,6 +8,7 @@ import cucumber.api.java8.StepdefBody;
 import cucumber.runtime.CucumberException;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -30,6 +32,23 @@ public class Java8LambdaStepDefinitionTest {
         assertEquals(Integer.valueOf(2), def.getParameterCount());
     }
 
+    @Test
+    public void should_invoke_own_body_when_created_again_from_same_lambda() throws Throwable {
+        List<String> invoked = new ArrayList<>();
+        List<Java8StepDefinition> defs = new ArrayList<>();
+        for (String scenario : asList("first", "second")) {
+            StepdefBody.A1<String> body = p1 -> invoked.add(scenario + " " + p1);
+            defs.add(Java8StepDefinition.create("I have {word} step", StepdefBody.A1.class, body, typeRegistry));
+        }
+
+        defs.get(0).execute("en", new Object[]{"one"});
+        defs.get(1).execute("en", new Object[]{"another"});
+
+        assertEquals(asList("first one", "second another"), invoked);
+        assertEquals(defs.get(0).getLocation(false), defs.get(1).getLocation(false));
+        assertEquals(Integer.valueOf(1), defs.get(1).getParameterCount());
+    }
+
     @Test
     public void should_fail_for_param_with_non_generic_list() {
         try {
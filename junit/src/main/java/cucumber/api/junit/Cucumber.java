@@ -72,6 +72,9 @@ public class Cucumber extends ParentRunner<FeatureRunner> {
 
         RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(clazz);
         RuntimeOptions runtimeOptions = runtimeOptionsFactory.create();
+        if (runtimeOptions.getThreads() > 1) {
+            System.err.println("WARNING: The --threads option is only supported by the command line runner. The JUnit runner runs the scenarios on a single thread.");
+        }
 
         ResourceLoader resourceLoader = new MultiLoader(classLoader);
         ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
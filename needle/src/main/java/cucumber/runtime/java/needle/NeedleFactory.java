@@ -1,26 +1,41 @@
 package cucumber.runtime.java.needle;
 
 import cucumber.api.java.ObjectFactory;
+import cucumber.api.needle.NeedleInjectionProvider;
 import cucumber.runtime.java.needle.config.CollectInjectionProvidersFromStepsInstance;
 import cucumber.runtime.java.needle.config.CreateInstanceByDefaultConstructor;
 import cucumber.runtime.java.needle.config.CucumberNeedleConfiguration;
 import de.akquinet.jbosscc.needle.NeedleTestcase;
 import de.akquinet.jbosscc.needle.injection.InjectionProvider;
+import de.akquinet.jbosscc.needle.reflection.ReflectionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static cucumber.runtime.java.needle.config.CucumberNeedleConfiguration.RESOURCE_CUCUMBER_NEEDLE;
 import static java.lang.String.format;
 
 /**
  * Needle factory for object resolution inside of cucumber tests.
+ * <p>
+ * Steps instances are created when a scenario asks for them. The first time a
+ * scenario asks for any instance, the instances of all classes with
+ * {@link NeedleInjectionProvider} fields are created as well, because their
+ * injection providers may be needed to initialize it. Instances of the other
+ * classes don't provide anything, so they are only created when asked for.
  */
 public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
 
     private final Map<Class<?>, Object> cachedStepsInstances = new LinkedHashMap<Class<?>, Object>();
+    private final Set<Class<?>> injectionProviderTypes = new LinkedHashSet<Class<?>>();
+    private boolean started;
+    private boolean injectionProvidersCreated;
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final CreateInstanceByDefaultConstructor createInstanceByDefaultConstructor = CreateInstanceByDefaultConstructor.INSTANCE;
     private final CollectInjectionProvidersFromStepsInstance collectInjectionProvidersFromStepsInstance = CollectInjectionProvidersFromStepsInstance.INSTANCE;
@@ -39,22 +54,7 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
     @Override
     public void start() {
         logger.trace("start()");
-        try {
-            // First create all instances
-            for (final Class<?> stepDefinitionType : cachedStepsInstances.keySet()) {
-                cachedStepsInstances.put(stepDefinitionType, createStepsInstance(stepDefinitionType));
-            }
-            // Then collect injection providers from all instances
-            for (Object stepsInstance : cachedStepsInstances.values()) {
-                addInjectionProvider(collectInjectionProvidersFromStepsInstance.apply(stepsInstance));
-            }
-            // Now init all instances, having the injection providers from all other instances available
-            for (Object stepsInstance : cachedStepsInstances.values()) {
-                initTestcase(stepsInstance);
-            }
-        } catch (final Exception e) {
-            throw new IllegalStateException(e);
-        }
+        started = true;
     }
 
     @Override
@@ -63,6 +63,8 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
         for (final Class<?> stepDefinitionType : cachedStepsInstances.keySet()) {
             cachedStepsInstances.put(stepDefinitionType, null);
         }
+        started = false;
+        injectionProvidersCreated = false;
     }
 
     @Override
@@ -72,6 +74,9 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
         // build up cache keys ...
         if (!cachedStepsInstances.containsKey(type)) {
             cachedStepsInstances.put(type, null);
+            if (!ReflectionUtil.getAllFieldsWithAnnotation(type, NeedleInjectionProvider.class).isEmpty()) {
+                injectionProviderTypes.add(type);
+            }
         }
         return true;
     }
@@ -84,14 +89,49 @@ public class NeedleFactory extends NeedleTestcase implements ObjectFactory {
 
     @SuppressWarnings("unchecked")
     private <T> T nullSafeGetInstance(final Class<T> type) {
-        final Object instance = cachedStepsInstances.get(type);
-        if (instance == null) {
-            throw new IllegalStateException(format("instance of type %s has not been initialized in start()!",
+        if (!started) {
+            throw new IllegalStateException(format("instance of type %s can not be created before start()!",
                 type.getSimpleName()));
         }
+        Object instance = cachedStepsInstances.get(type);
+        if (instance == null) {
+            try {
+                createInjectionProviderInstances();
+                instance = cachedStepsInstances.get(type);
+                if (instance == null) {
+                    instance = createStepsInstance(type);
+                    initTestcase(instance);
+                    cachedStepsInstances.put(type, instance);
+                }
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
         return (T) instance;
     }
 
+    private void createInjectionProviderInstances() throws Exception {
+        if (injectionProvidersCreated) {
+            return;
+        }
+        injectionProvidersCreated = true;
+        // First create all instances that have injection providers
+        final List<Object> stepsInstances = new ArrayList<Object>();
+        for (final Class<?> stepDefinitionType : injectionProviderTypes) {
+            final Object stepsInstance = createStepsInstance(stepDefinitionType);
+            cachedStepsInstances.put(stepDefinitionType, stepsInstance);
+            stepsInstances.add(stepsInstance);
+        }
+        // Then collect injection providers from all of them
+        for (Object stepsInstance : stepsInstances) {
+            addInjectionProvider(collectInjectionProvidersFromStepsInstance.apply(stepsInstance));
+        }
+        // Now init them, having the injection providers from all other instances available
+        for (Object stepsInstance : stepsInstances) {
+            initTestcase(stepsInstance);
+        }
+    }
+
     private <T> T createStepsInstance(final Class<T> type) throws Exception {
         logger.trace("createInstance(): " + type.getCanonicalName());
         return createInstanceByDefaultConstructor.apply(type);
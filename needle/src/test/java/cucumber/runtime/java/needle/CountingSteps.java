@@ -0,0 +1,15 @@
+package cucumber.runtime.java.needle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts its instances, to show which steps instances the factory creates.
+ */
+public class CountingSteps {
+
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    public CountingSteps() {
+        CREATED.incrementAndGet();
+    }
+}
@@ -1,12 +1,17 @@
 package cucumber.runtime.java.needle;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import cucumber.runtime.java.needle.config.CucumberNeedleConfiguration;
+import cucumber.runtime.java.needle.test.AtmWithdrawalSteps;
+import cucumber.runtime.java.needle.test.MoreSteps;
 import cucumber.runtime.java.needle.test.injectionprovider.SimpleNameGetterProvider;
 import de.akquinet.jbosscc.needle.injection.InjectionProvider;
 
@@ -24,4 +29,37 @@ public class NeedleFactoryTest {
                 is(SimpleNameGetterProvider.class.getCanonicalName()));
     }
 
+    @Test
+    public void shouldCreateOnlyTheInstancesAScenarioAsksFor() throws Exception {
+        final NeedleFactory factory = new NeedleFactory();
+        factory.addClass(AtmWithdrawalSteps.class);
+        factory.addClass(MoreSteps.class);
+        factory.addClass(CountingSteps.class);
+        final int created = CountingSteps.CREATED.get();
+
+        // Scenario 1
+        factory.start();
+        final AtmWithdrawalSteps atmWithdrawalSteps = factory.getInstance(AtmWithdrawalSteps.class);
+        assertThat(factory.getInstance(AtmWithdrawalSteps.class), is(sameInstance(atmWithdrawalSteps)));
+        assertTrue(factory.getInstance(MoreSteps.class).isThisReallyYouOrJustAMock());
+        assertThat(CountingSteps.CREATED.get(), is(created));
+        factory.stop();
+
+        // Scenario 2
+        factory.start();
+        final CountingSteps countingSteps = factory.getInstance(CountingSteps.class);
+        assertNotNull(countingSteps);
+        assertThat(CountingSteps.CREATED.get(), is(created + 1));
+        assertThat(factory.getInstance(AtmWithdrawalSteps.class), is(not(sameInstance(atmWithdrawalSteps))));
+        factory.stop();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateInstancesBeforeStart() throws Exception {
+        final NeedleFactory factory = new NeedleFactory();
+        factory.addClass(CountingSteps.class);
+
+        factory.getInstance(CountingSteps.class);
+    }
+
 }
@@ -2,39 +2,136 @@ package cucumber.runtime.java.openejb;
 
 import cucumber.runtime.CucumberException;
 import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.Env;
 import org.apache.openejb.OpenEjbContainer;
 
 import javax.ejb.embeddable.EJBContainer;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
+/**
+ * Creates the step definitions and injects them with an embedded OpenEJB
+ * container.
+ * <p>
+ * By default a new container is created for every scenario. With
+ * {@code openejb.container=run} in {@code cucumber.properties}, a system
+ * property or an environment variable, a single container is created when the
+ * first scenario starts and closed when the JVM shuts down. Each scenario then
+ * gets its own instance of every step definition class, bound to the shared
+ * container's {@code inject} name.
+ * <p>
+ * OpenEJB only injects classes that were registered as callers when the
+ * container was created. A scenario with step definition classes the shared
+ * container doesn't know waits until no other scenario uses the container,
+ * and then creates it again with all the callers seen so far.
+ */
 public class OpenEJBObjectFactory implements ObjectFactory {
-    private final List<String> classes = new ArrayList<String>();
+    static final String OPENEJB_CONTAINER_KEY = "openejb.container";
+    private static final String CONTAINER_PER_SCENARIO = "scenario";
+    private static final String CONTAINER_PER_RUN = "run";
+
+    private static final Set<String> KNOWN_CALLERS = new LinkedHashSet<String>();
+    private static EJBContainer sharedContainer;
+    private static Set<String> sharedCallers;
+    private static int sharedContainerUsers;
+    private static boolean shutdownHookAdded;
+
+    private final boolean containerPerRun;
+    private final Set<String> classes = new LinkedHashSet<String>();
     private final Map<Class<?>, Object> instances = new HashMap<Class<?>, Object>();
     private EJBContainer container;
 
+    public OpenEJBObjectFactory() {
+        this(Env.INSTANCE);
+    }
+
+    OpenEJBObjectFactory(Env env) {
+        String container = env.get(OPENEJB_CONTAINER_KEY, CONTAINER_PER_SCENARIO);
+        if (!CONTAINER_PER_SCENARIO.equals(container) && !CONTAINER_PER_RUN.equals(container)) {
+            throw new CucumberException(OPENEJB_CONTAINER_KEY + " must be " + CONTAINER_PER_SCENARIO + " or " + CONTAINER_PER_RUN + ", but was " + container);
+        }
+        this.containerPerRun = CONTAINER_PER_RUN.equals(container);
+    }
+
     @Override
     public void start() {
-        final StringBuilder callers = new StringBuilder();
-        for (Iterator<String> it = classes.iterator(); it.hasNext(); ) {
-            callers.append(it.next());
+        container = containerPerRun ? acquireSharedContainer(classes) : createContainer(classes);
+    }
+
+    private static synchronized EJBContainer acquireSharedContainer(Set<String> callers) {
+        KNOWN_CALLERS.addAll(callers);
+        while (sharedContainer != null && sharedContainerUsers > 0 && !sharedCallers.containsAll(KNOWN_CALLERS)) {
+            try {
+                OpenEJBObjectFactory.class.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CucumberException("Interrupted while waiting for the OpenEJB container", e);
+            }
+        }
+        if (sharedContainer == null || !sharedCallers.containsAll(KNOWN_CALLERS)) {
+            if (sharedContainer != null) {
+                sharedContainer.close();
+            }
+            sharedCallers = new LinkedHashSet<String>(KNOWN_CALLERS);
+            sharedContainer = createContainer(sharedCallers);
+            addShutdownHook();
+        }
+        sharedContainerUsers++;
+        return sharedContainer;
+    }
+
+    private static synchronized void releaseSharedContainer() {
+        sharedContainerUsers--;
+        OpenEJBObjectFactory.class.notifyAll();
+    }
+
+    private static void addShutdownHook() {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread("cucumber-openejb-shutdown") {
+                @Override
+                public void run() {
+                    closeSharedContainer();
+                }
+            });
+            shutdownHookAdded = true;
+        }
+    }
+
+    static synchronized void closeSharedContainer() {
+        if (sharedContainer != null) {
+            sharedContainer.close();
+            sharedContainer = null;
+            sharedCallers = null;
+        }
+        KNOWN_CALLERS.clear();
+    }
+
+    private static EJBContainer createContainer(Set<String> callers) {
+        final StringBuilder callersList = new StringBuilder();
+        for (Iterator<String> it = callers.iterator(); it.hasNext(); ) {
+            callersList.append(it.next());
             if (it.hasNext()) {
-                callers.append(",");
+                callersList.append(",");
             }
         }
 
         Properties properties = new Properties();
-        properties.setProperty(OpenEjbContainer.Provider.OPENEJB_ADDITIONNAL_CALLERS_KEY, callers.toString());
-        container = EJBContainer.createEJBContainer(properties);
+        properties.setProperty(OpenEjbContainer.Provider.OPENEJB_ADDITIONNAL_CALLERS_KEY, callersList.toString());
+        return EJBContainer.createEJBContainer(properties);
     }
 
     @Override
     public void stop() {
-        container.close();
+        if (containerPerRun) {
+            releaseSharedContainer();
+        } else {
+            container.close();
+        }
+        container = null;
         instances.clear();
     }
 
@@ -61,4 +158,3 @@ public class OpenEJBObjectFactory implements ObjectFactory {
         return object;
     }
 }
-
@@ -1,12 +1,27 @@
 package cucumber.runtime.java.openejb;
 
 import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.Env;
+import org.junit.After;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 
 public class OpenEJBObjectFactoryTest {
+    @After
+    public void closeSharedContainer() {
+        OpenEJBObjectFactory.closeSharedContainer();
+    }
+
     @Test
     public void shouldGiveUsNewInstancesForEachScenario() {
         ObjectFactory factory = new OpenEJBObjectFactory();
@@ -26,4 +41,94 @@ public class OpenEJBObjectFactoryTest {
         assertNotSame(o1, o2);
     }
 
+    @Test
+    public void injects_new_instances_after_the_shared_container_is_created_again_for_new_glue() {
+        ObjectFactory factory1 = containerPerRun(BellyStepdefs.class);
+        factory1.start();
+        factory1.getInstance(BellyStepdefs.class).haveCukes(1);
+        factory1.stop();
+
+        ObjectFactory factory2 = containerPerRun(Belly.class);
+        factory2.start();
+        assertNotNull(factory2.getInstance(Belly.class));
+        factory2.stop();
+
+        factory1.start();
+        BellyStepdefs bellyStepdefs = factory1.getInstance(BellyStepdefs.class);
+        bellyStepdefs.haveCukes(3);
+        bellyStepdefs.checkCukes(3);
+        factory1.stop();
+    }
+
+    @Test
+    public void waits_for_the_shared_container_to_be_unused_before_creating_it_again() throws Exception {
+        ObjectFactory factory1 = containerPerRun(BellyStepdefs.class);
+        factory1.start();
+        BellyStepdefs bellyStepdefs = factory1.getInstance(BellyStepdefs.class);
+
+        final ObjectFactory factory2 = containerPerRun(Belly.class);
+        final AtomicReference<Belly> belly = new AtomicReference<Belly>();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                factory2.start();
+                belly.set(factory2.getInstance(Belly.class));
+                factory2.stop();
+            }
+        };
+        thread.start();
+        for (int i = 0; i < 100 && thread.getState() != Thread.State.WAITING; i++) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(Thread.State.WAITING, thread.getState());
+        bellyStepdefs.haveCukes(2);
+        bellyStepdefs.checkCukes(2);
+        factory1.stop();
+        thread.join(60000);
+        assertNotNull(belly.get());
+    }
+
+    @Test
+    public void starts_concurrently_with_one_shared_container() throws Exception {
+        final CountDownLatch ready = new CountDownLatch(2);
+        final List<BellyStepdefs> stepdefs = Collections.synchronizedList(new ArrayList<BellyStepdefs>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 2; i++) {
+            final ObjectFactory factory = containerPerRun(BellyStepdefs.class);
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    ready.countDown();
+                    try {
+                        ready.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    factory.start();
+                    BellyStepdefs bellyStepdefs = factory.getInstance(BellyStepdefs.class);
+                    bellyStepdefs.haveCukes(5);
+                    bellyStepdefs.checkCukes(5);
+                    stepdefs.add(bellyStepdefs);
+                    factory.stop();
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(60000);
+        }
+
+        assertEquals(2, stepdefs.size());
+        assertNotSame(stepdefs.get(0), stepdefs.get(1));
+    }
+
+    private static ObjectFactory containerPerRun(Class<?> glue) {
+        Properties properties = new Properties();
+        properties.setProperty(OpenEJBObjectFactory.OPENEJB_CONTAINER_KEY, "run");
+        ObjectFactory factory = new OpenEJBObjectFactory(new Env(properties));
+        factory.addClass(glue);
+        return factory;
+    }
 }
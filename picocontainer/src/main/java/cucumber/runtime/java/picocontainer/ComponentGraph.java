@@ -0,0 +1,301 @@
+package cucumber.runtime.java.picocontainer;
+
+import cucumber.runtime.CucumberException;
+import org.picocontainer.Disposable;
+import org.picocontainer.Startable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The components of a {@link PicoFactory}, with the constructor of every
+ * component and the components to pass to it resolved once.
+ * <p>
+ * The constructors are chosen the way PicoContainer chooses them: the public
+ * constructor with the most parameters that can all be satisfied by exactly
+ * one component. When a component can't be resolved that simply, because it
+ * uses PicoContainer annotations, collection parameters, ambiguous or cyclic
+ * dependencies, {@link #resolve(Collection)} returns {@code null} and the
+ * factory falls back to a PicoContainer.
+ */
+final class ComponentGraph {
+    private static final Comparator<Constructor<?>> GREEDIEST_FIRST = new Comparator<Constructor<?>>() {
+        @Override
+        public int compare(Constructor<?> a, Constructor<?> b) {
+            return b.getParameterTypes().length - a.getParameterTypes().length;
+        }
+    };
+
+    private final Map<Class<?>, Component> components;
+    private final List<Component> lifecycleComponents = new ArrayList<Component>();
+
+    private ComponentGraph(Map<Class<?>, Component> components) {
+        this.components = components;
+        for (Component component : components.values()) {
+            if (component.hasLifecycle()) {
+                lifecycleComponents.add(component);
+            }
+        }
+    }
+
+    /**
+     * @param classes the component classes
+     * @return the resolved components, or {@code null} if they can't be
+     * resolved without a PicoContainer
+     */
+    static ComponentGraph resolve(Collection<Class<?>> classes) {
+        Map<Class<?>, Component> components = new LinkedHashMap<Class<?>, Component>();
+        for (Class<?> type : classes) {
+            if (usesPicoAnnotations(type) || hasCollectionParameters(type)) {
+                return null;
+            }
+            components.put(type, new Component(type));
+        }
+        for (Component component : components.values()) {
+            if (!component.resolveConstructor(components)) {
+                return null;
+            }
+        }
+        Map<Component, Boolean> visited = new IdentityHashMap<Component, Boolean>();
+        for (Component component : components.values()) {
+            if (isCyclic(component, visited)) {
+                return null;
+            }
+        }
+        return new ComponentGraph(components);
+    }
+
+    private static boolean usesPicoAnnotations(Class<?> type) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (hasPicoAnnotation(c.getDeclaredFields())
+                || hasPicoAnnotation(c.getDeclaredMethods())
+                || hasPicoAnnotation(c.getDeclaredConstructors())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCollectionParameters(Class<?> type) {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            for (Class<?> parameterType : constructor.getParameterTypes()) {
+                if (parameterType.isArray()
+                    || Collection.class.isAssignableFrom(parameterType)
+                    || Map.class.isAssignableFrom(parameterType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasPicoAnnotation(AccessibleObject[] members) {
+        for (AccessibleObject member : members) {
+            if (isPicoAnnotation(member.getAnnotations())) {
+                return true;
+            }
+            if (member instanceof Constructor) {
+                for (Annotation[] annotations : ((Constructor<?>) member).getParameterAnnotations()) {
+                    if (isPicoAnnotation(annotations)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPicoAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().getName().startsWith("org.picocontainer.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the component depends on itself, directly or not.
+     * Visited components are marked {@code true} while their dependencies are
+     * visited and {@code false} once they are known not to be cyclic.
+     */
+    private static boolean isCyclic(Component component, Map<Component, Boolean> visited) {
+        Boolean visiting = visited.get(component);
+        if (visiting != null) {
+            return visiting;
+        }
+        visited.put(component, Boolean.TRUE);
+        for (Component parameter : component.parameters) {
+            if (isCyclic(parameter, visited)) {
+                return true;
+            }
+        }
+        visited.put(component, Boolean.FALSE);
+        return false;
+    }
+
+    /**
+     * Like PicoContainer, a component registered for the type itself is
+     * preferred over components of a subtype.
+     *
+     * @return the only component for the type, or {@code null} if there is
+     * none or more than one
+     */
+    private static Component componentOfType(Map<Class<?>, Component> components, Class<?> type) {
+        Component component = components.get(type);
+        if (component != null) {
+            return component;
+        }
+        for (Component candidate : components.values()) {
+            if (type.isAssignableFrom(candidate.type)) {
+                if (component != null) {
+                    return null;
+                }
+                component = candidate;
+            }
+        }
+        return component;
+    }
+
+    Instances newInstances() {
+        return new Instances();
+    }
+
+    private static final class Component {
+        private final Class<?> type;
+        private Constructor<?> constructor;
+        private Component[] parameters;
+
+        Component(Class<?> type) {
+            this.type = type;
+        }
+
+        boolean hasLifecycle() {
+            return Startable.class.isAssignableFrom(type) || Disposable.class.isAssignableFrom(type);
+        }
+
+        /**
+         * @return whether exactly one of the greediest constructors has
+         * parameters that can all be satisfied
+         */
+        boolean resolveConstructor(Map<Class<?>, Component> components) {
+            Constructor<?>[] constructors = type.getConstructors();
+            Arrays.sort(constructors, GREEDIEST_FIRST);
+            for (Constructor<?> candidate : constructors) {
+                if (constructor != null && candidate.getParameterTypes().length < constructor.getParameterTypes().length) {
+                    break;
+                }
+                Component[] candidateParameters = parameters(components, candidate);
+                if (candidateParameters == null) {
+                    continue;
+                }
+                if (constructor != null) {
+                    return false;
+                }
+                constructor = candidate;
+                parameters = candidateParameters;
+            }
+            return constructor != null;
+        }
+
+        private Component[] parameters(Map<Class<?>, Component> components, Constructor<?> candidate) {
+            Class<?>[] parameterTypes = candidate.getParameterTypes();
+            Component[] candidateParameters = new Component[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Component parameter = componentOfType(components, parameterTypes[i]);
+                if (parameter == null || parameter == this) {
+                    return null;
+                }
+                candidateParameters[i] = parameter;
+            }
+            return candidateParameters;
+        }
+
+        Object newInstance(Object[] arguments) {
+            try {
+                return constructor.newInstance(arguments);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new CucumberException("Failed to instantiate " + type, cause);
+            } catch (Exception e) {
+                throw new CucumberException("Failed to instantiate " + type, e);
+            }
+        }
+    }
+
+    /**
+     * The instances of the components for one scenario. Every component is
+     * instantiated at most once. Components with a lifecycle are
+     * instantiated and started by {@link #start()}, and stopped and disposed
+     * in reverse order by {@link #stop()}.
+     */
+    final class Instances {
+        private final Map<Component, Object> instances = new HashMap<Component, Object>();
+        private final List<Object> instantiated = new ArrayList<Object>();
+
+        void start() {
+            for (Component component : lifecycleComponents) {
+                getInstance(component);
+            }
+            for (Object instance : new ArrayList<Object>(instantiated)) {
+                if (instance instanceof Startable) {
+                    ((Startable) instance).start();
+                }
+            }
+        }
+
+        void stop() {
+            for (int i = instantiated.size() - 1; i >= 0; i--) {
+                Object instance = instantiated.get(i);
+                if (instance instanceof Startable) {
+                    ((Startable) instance).stop();
+                }
+            }
+            for (int i = instantiated.size() - 1; i >= 0; i--) {
+                Object instance = instantiated.get(i);
+                if (instance instanceof Disposable) {
+                    ((Disposable) instance).dispose();
+                }
+            }
+        }
+
+        <T> T getInstance(Class<T> type) {
+            Component component = componentOfType(components, type);
+            if (component == null) {
+                return null;
+            }
+            return type.cast(getInstance(component));
+        }
+
+        private Object getInstance(Component component) {
+            Object instance = instances.get(component);
+            if (instance == null) {
+                Object[] arguments = new Object[component.parameters.length];
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = getInstance(component.parameters[i]);
+                }
+                instance = component.newInstance(arguments);
+                instances.put(component, instance);
+                instantiated.add(instance);
+            }
+            return instance;
+        }
+    }
+}
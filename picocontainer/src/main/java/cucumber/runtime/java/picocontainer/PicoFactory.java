@@ -6,14 +6,34 @@ import org.picocontainer.MutablePicoContainer;
 import org.picocontainer.PicoBuilder;
 
 import java.lang.reflect.Constructor;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
+/**
+ * Creates the step definitions and their constructor dependencies.
+ * <p>
+ * The components are resolved into a {@link ComponentGraph} when the first
+ * scenario starts, so every scenario only creates the instances it needs.
+ * Components that only a PicoContainer can resolve make every scenario use a
+ * new PicoContainer instead.
+ */
 public class PicoFactory implements ObjectFactory {
+    private final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+    private ComponentGraph graph;
+    private boolean graphResolved;
+    private ComponentGraph.Instances instances;
     private MutablePicoContainer pico;
-    private final Set<Class<?>> classes = new HashSet<Class<?>>();
 
     public void start() {
+        if (!graphResolved) {
+            graph = ComponentGraph.resolve(classes);
+            graphResolved = true;
+        }
+        if (graph != null) {
+            instances = graph.newInstances();
+            instances.start();
+            return;
+        }
         pico = new PicoBuilder()
             .withCaching()
             .withLifecycle()
@@ -25,18 +45,28 @@ public class PicoFactory implements ObjectFactory {
     }
 
     public void stop() {
+        if (instances != null) {
+            instances.stop();
+            instances = null;
+            return;
+        }
         pico.stop();
         pico.dispose();
+        pico = null;
     }
 
     public boolean addClass(Class<?> clazz) {
         if (Utils.isInstantiable(clazz) && classes.add(clazz)) {
+            graphResolved = false;
             addConstructorDependencies(clazz);
         }
         return true;
     }
 
     public <T> T getInstance(Class<T> type) {
+        if (instances != null) {
+            return instances.getInstance(type);
+        }
         return pico.getComponent(type);
     }
 
@@ -0,0 +1,166 @@
+package cucumber.runtime.java.picocontainer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.picocontainer.MutablePicoContainer;
+import org.picocontainer.PicoBuilder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of a scenario that uses 10 of 200 glue classes, with
+ * the components resolved once by the {@link PicoFactory} and with a new
+ * PicoContainer per scenario, as the factory used to do.
+ * <p>
+ * Every glue class depends on another glue class and on a disposable world.
+ * The glue classes are compiled when the benchmark is set up.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PicoFactoryBenchmark {
+    private static final int GLUE_CLASSES = 200;
+    private static final int USED_GLUE_CLASSES = 10;
+
+    private File directory;
+    private final List<Class<?>> components = new ArrayList<Class<?>>();
+    private final List<Class<?>> usedGlueClasses = new ArrayList<Class<?>>();
+    private PicoFactory factory;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = File.createTempFile("glue", "");
+        directory.delete();
+        File sources = new File(directory, "glue");
+        sources.mkdirs();
+        List<String> arguments = new ArrayList<String>();
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add(write(sources, "World", "" +
+            "package glue;\n" +
+            "public class World implements org.picocontainer.Disposable {\n" +
+            "    public void dispose() {\n" +
+            "    }\n" +
+            "}\n"));
+        for (int i = 0; i < GLUE_CLASSES; i++) {
+            String dependency = i == 0 ? "" : "Glue" + (i / 2) + " dependency, ";
+            arguments.add(write(sources, "Glue" + i, "" +
+                "package glue;\n" +
+                "public class Glue" + i + " {\n" +
+                "    public Glue" + i + "(" + dependency + "World world) {\n" +
+                "    }\n" +
+                "}\n"));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])) != 0) {
+            throw new IllegalStateException("Failed to compile the glue classes");
+        }
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{directory.toURI().toURL()}, getClass().getClassLoader());
+        factory = new PicoFactory();
+        for (int i = 0; i < GLUE_CLASSES; i++) {
+            Class<?> glueClass = classLoader.loadClass("glue.Glue" + i);
+            components.add(glueClass);
+            factory.addClass(glueClass);
+        }
+        for (int i = 0; i < USED_GLUE_CLASSES; i++) {
+            usedGlueClasses.add(components.get(GLUE_CLASSES - 1 - i * 7));
+        }
+        // The factory adds the constructor dependencies itself
+        components.add(classLoader.loadClass("glue.World"));
+    }
+
+    private static String write(File directory, String className, String source) throws IOException {
+        File file = new File(directory, className + ".java");
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(source);
+        } finally {
+            writer.close();
+        }
+        return file.getPath();
+    }
+
+    @TearDown
+    public void tearDown() {
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Benchmark
+    public int picoFactory() {
+        factory.start();
+        try {
+            int hashCodes = 0;
+            for (Class<?> glueClass : usedGlueClasses) {
+                hashCodes += factory.getInstance(glueClass).hashCode();
+            }
+            return hashCodes;
+        } finally {
+            factory.stop();
+        }
+    }
+
+    @Benchmark
+    public int picoContainerPerScenario() {
+        MutablePicoContainer pico = new PicoBuilder()
+            .withCaching()
+            .withLifecycle()
+            .build();
+        for (Class<?> component : components) {
+            pico.addComponent(component);
+        }
+        pico.start();
+        try {
+            int hashCodes = 0;
+            for (Class<?> glueClass : usedGlueClasses) {
+                hashCodes += pico.getComponent(glueClass).hashCode();
+            }
+            return hashCodes;
+        } finally {
+            pico.stop();
+            pico.dispose();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PicoFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
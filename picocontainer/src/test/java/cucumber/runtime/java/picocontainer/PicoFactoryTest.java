@@ -2,10 +2,19 @@ package cucumber.runtime.java.picocontainer;
 
 import cucumber.api.java.ObjectFactory;
 import org.junit.Test;
+import org.picocontainer.Disposable;
+import org.picocontainer.PicoCompositionException;
+import org.picocontainer.Startable;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class PicoFactoryTest {
@@ -47,4 +56,99 @@ public class PicoFactoryTest {
         // Then
         assertTrue(steps.getBelly().isDisposed());
     }
+
+    @Test
+    public void shouldShareInstancesWithinAScenario() {
+        ObjectFactory factory = new PicoFactory();
+        factory.addClass(StepDefs.class);
+        factory.addClass(MoreStepDefs.class);
+
+        factory.start();
+        StepDefs steps = factory.getInstance(StepDefs.class);
+        MoreStepDefs moreSteps = factory.getInstance(MoreStepDefs.class);
+        assertSame(steps, factory.getInstance(StepDefs.class));
+        factory.stop();
+
+        assertSame(steps.getBelly(), moreSteps.belly);
+    }
+
+    @Test
+    public void shouldStartAndStopLifecycleComponentsInDependencyOrder() {
+        ObjectFactory factory = new PicoFactory();
+        factory.addClass(Lifecycle.class);
+        LIFECYCLE.clear();
+
+        factory.start();
+        assertEquals(asList("start Dependency", "start Lifecycle"), LIFECYCLE);
+        LIFECYCLE.clear();
+        factory.stop();
+
+        assertEquals(asList("stop Lifecycle", "stop Dependency", "dispose Lifecycle", "dispose Dependency"), LIFECYCLE);
+    }
+
+    @Test(expected = PicoCompositionException.class)
+    public void shouldFallBackToPicoContainerForComponentsItCanNotResolve() {
+        ObjectFactory factory = new PicoFactory();
+        factory.addClass(Ambiguous.class);
+        factory.addClass(FirstImplementation.class);
+        factory.addClass(SecondImplementation.class);
+
+        factory.start();
+        factory.getInstance(Ambiguous.class);
+    }
+
+    private static final List<String> LIFECYCLE = new ArrayList<String>();
+
+    public static class MoreStepDefs {
+        private final DisposableCucumberBelly belly;
+
+        public MoreStepDefs(DisposableCucumberBelly belly) {
+            this.belly = belly;
+        }
+    }
+
+    public static class Dependency implements Startable, Disposable {
+        public void start() {
+            LIFECYCLE.add("start Dependency");
+        }
+
+        public void stop() {
+            LIFECYCLE.add("stop Dependency");
+        }
+
+        public void dispose() {
+            LIFECYCLE.add("dispose Dependency");
+        }
+    }
+
+    public static class Lifecycle implements Startable, Disposable {
+        public Lifecycle(Dependency dependency) {
+        }
+
+        public void start() {
+            LIFECYCLE.add("start Lifecycle");
+        }
+
+        public void stop() {
+            LIFECYCLE.add("stop Lifecycle");
+        }
+
+        public void dispose() {
+            LIFECYCLE.add("dispose Lifecycle");
+        }
+    }
+
+    public interface Implementation {
+    }
+
+    public static class FirstImplementation implements Implementation {
+    }
+
+    public static class SecondImplementation implements Implementation {
+    }
+
+    public static class Ambiguous {
+        public Ambiguous(Implementation implementation) {
+        }
+    }
 }
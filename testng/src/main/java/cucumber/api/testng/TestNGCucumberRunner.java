@@ -37,6 +37,9 @@ public class TestNGCucumberRunner {
 
         RuntimeOptionsFactory runtimeOptionsFactory = new RuntimeOptionsFactory(clazz);
         runtimeOptions = runtimeOptionsFactory.create();
+        if (runtimeOptions.getThreads() > 1) {
+            System.err.println("WARNING: The --threads option is only supported by the command line runner. The TestNG runner ignores it.");
+        }
 
         reporter = new TestNGReporter(new PrintStream(System.out) {
                 @Override
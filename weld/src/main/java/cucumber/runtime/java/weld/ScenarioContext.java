@@ -0,0 +1,98 @@
+package cucumber.runtime.java.weld;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The context of the {@link ScenarioScoped} beans. It is active on a thread
+ * while that thread runs a scenario.
+ */
+final class ScenarioContext implements AlterableContext {
+    private final ThreadLocal<Map<Contextual<?>, ScopedInstance<?>>> scenarioInstances = new ThreadLocal<Map<Contextual<?>, ScopedInstance<?>>>();
+
+    @Override
+    public Class<? extends Annotation> getScope() {
+        return ScenarioScoped.class;
+    }
+
+    @Override
+    public <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        Map<Contextual<?>, ScopedInstance<?>> instances = activeInstances();
+        @SuppressWarnings("unchecked")
+        ScopedInstance<T> instance = (ScopedInstance<T>) instances.get(contextual);
+        if (instance == null) {
+            instance = new ScopedInstance<T>(contextual, creationalContext, contextual.create(creationalContext));
+            instances.put(contextual, instance);
+        }
+        return instance.value;
+    }
+
+    @Override
+    public <T> T get(Contextual<T> contextual) {
+        @SuppressWarnings("unchecked")
+        ScopedInstance<T> instance = (ScopedInstance<T>) activeInstances().get(contextual);
+        return instance == null ? null : instance.value;
+    }
+
+    @Override
+    public void destroy(Contextual<?> contextual) {
+        ScopedInstance<?> instance = activeInstances().remove(contextual);
+        if (instance != null) {
+            instance.destroy();
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return scenarioInstances.get() != null;
+    }
+
+    void activate() {
+        deactivate();
+        scenarioInstances.set(new LinkedHashMap<Contextual<?>, ScopedInstance<?>>());
+    }
+
+    void deactivate() {
+        Map<Contextual<?>, ScopedInstance<?>> instances = scenarioInstances.get();
+        if (instances == null) {
+            return;
+        }
+        scenarioInstances.remove();
+        // Destroyed in the reverse order of creation
+        List<ScopedInstance<?>> created = new ArrayList<ScopedInstance<?>>(instances.values());
+        for (int i = created.size() - 1; i >= 0; i--) {
+            created.get(i).destroy();
+        }
+    }
+
+    private Map<Contextual<?>, ScopedInstance<?>> activeInstances() {
+        Map<Contextual<?>, ScopedInstance<?>> instances = scenarioInstances.get();
+        if (instances == null) {
+            throw new ContextNotActiveException("No scenario is running on this thread");
+        }
+        return instances;
+    }
+
+    private static final class ScopedInstance<T> {
+        private final Contextual<T> contextual;
+        private final CreationalContext<T> creationalContext;
+        private final T value;
+
+        ScopedInstance(Contextual<T> contextual, CreationalContext<T> creationalContext, T value) {
+            this.contextual = contextual;
+            this.creationalContext = creationalContext;
+            this.value = value;
+        }
+
+        void destroy() {
+            contextual.destroy(value, creationalContext);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package cucumber.runtime.java.weld;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+/**
+ * Adds the context of the {@link ScenarioScoped} beans to the container.
+ */
+public class ScenarioScopeExtension implements Extension {
+    private final ScenarioContext scenarioContext;
+
+    ScenarioScopeExtension(ScenarioContext scenarioContext) {
+        this.scenarioContext = scenarioContext;
+    }
+
+    void afterBeanDiscovery(@Observes AfterBeanDiscovery event) {
+        event.addContext(scenarioContext);
+    }
+}
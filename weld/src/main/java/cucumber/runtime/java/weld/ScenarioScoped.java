@@ -0,0 +1,24 @@
+package cucumber.runtime.java.weld;
+
+import javax.enterprise.context.NormalScope;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * A CDI scope that lasts for one scenario. Every scenario gets new instances
+ * of the beans with this scope.
+ * <p>
+ * When the Weld container is started once per run, step definitions that keep
+ * state between steps should use this scope instead of
+ * {@code javax.inject.Singleton}.
+ */
+@Target({TYPE, METHOD, FIELD}) @Retention(RUNTIME) @Documented @Inherited @NormalScope
+public @interface ScenarioScoped {
+}
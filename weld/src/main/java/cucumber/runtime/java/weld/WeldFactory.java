@@ -2,17 +2,69 @@ package cucumber.runtime.java.weld;
 
 import cucumber.runtime.CucumberException;
 import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.Env;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the step definitions with Weld.
+ * <p>
+ * By default a new Weld container is started for every scenario. With
+ * {@code weld.container=run} in {@code cucumber.properties}, a system property
+ * or an environment variable, a single container is started when the first
+ * scenario starts and shared until the JVM shuts down. Each scenario then gets
+ * its own instance of every step definition class, and its own instances of
+ * the {@link ScenarioScoped} beans.
+ */
 public class WeldFactory implements ObjectFactory {
+    static final String WELD_CONTAINER_KEY = "weld.container";
+    private static final String CONTAINER_PER_SCENARIO = "scenario";
+    private static final String CONTAINER_PER_RUN = "run";
+    private static final String SHARED_CONTAINER_ID = "cucumber-weld";
+
+    private static final ScenarioContext SCENARIO_CONTEXT = new ScenarioContext();
+    private static WeldContainer sharedContainer;
 
+    private final boolean containerPerRun;
+    private final Map<Class<?>, GlueInstance<?>> glueInstances = new LinkedHashMap<Class<?>, GlueInstance<?>>();
     private WeldContainer containerInstance;
 
+    public WeldFactory() {
+        this(Env.INSTANCE);
+    }
+
+    WeldFactory(Env env) {
+        String container = env.get(WELD_CONTAINER_KEY, CONTAINER_PER_SCENARIO);
+        if (!CONTAINER_PER_SCENARIO.equals(container) && !CONTAINER_PER_RUN.equals(container)) {
+            throw new CucumberException(WELD_CONTAINER_KEY + " must be " + CONTAINER_PER_SCENARIO + " or " + CONTAINER_PER_RUN + ", but was " + container);
+        }
+        this.containerPerRun = CONTAINER_PER_RUN.equals(container);
+    }
+
     @Override
     public void start() {
+        containerInstance = containerPerRun ? sharedContainer() : initialize(new Weld());
+        SCENARIO_CONTEXT.activate();
+    }
+
+    private static synchronized WeldContainer sharedContainer() {
+        if (sharedContainer == null || !sharedContainer.isRunning()) {
+            // Weld closes the container when the JVM shuts down
+            sharedContainer = initialize(new Weld(SHARED_CONTAINER_ID));
+        }
+        return sharedContainer;
+    }
+
+    private static WeldContainer initialize(Weld weld) {
         try {
-            containerInstance = new Weld().initialize();
+            return weld.addExtension(new ScenarioScopeExtension(SCENARIO_CONTEXT)).initialize();
         } catch (IllegalArgumentException e) {
             throw new CucumberException("" +
                     "\n" +
@@ -30,6 +82,14 @@ public class WeldFactory implements ObjectFactory {
 
     @Override
     public void stop() {
+        SCENARIO_CONTEXT.deactivate();
+        if (containerPerRun) {
+            for (GlueInstance<?> glueInstance : glueInstances.values()) {
+                glueInstance.destroy();
+            }
+            glueInstances.clear();
+            return;
+        }
         try {
             if (containerInstance.isRunning()) {
                 containerInstance.close();
@@ -51,6 +111,39 @@ public class WeldFactory implements ObjectFactory {
 
     @Override
     public <T> T getInstance(Class<T> type) {
-        return containerInstance.select(type).get();
+        if (!containerPerRun) {
+            return containerInstance.select(type).get();
+        }
+        GlueInstance<?> glueInstance = glueInstances.get(type);
+        if (glueInstance == null) {
+            glueInstance = new GlueInstance<T>(containerInstance, type);
+            glueInstances.put(type, glueInstance);
+        }
+        return type.cast(glueInstance.value);
+    }
+
+    /**
+     * A step definition instance of a scenario. Dependent instances are
+     * destroyed when the scenario ends, otherwise the container would keep
+     * them until it is closed.
+     */
+    private static final class GlueInstance<T> {
+        private final Instance<T> instance;
+        private final T value;
+        private final boolean dependent;
+
+        GlueInstance(WeldContainer container, Class<T> type) {
+            this.instance = container.select(type);
+            this.value = instance.get();
+            BeanManager beanManager = container.getBeanManager();
+            Bean<?> bean = beanManager.resolve(beanManager.getBeans(type));
+            this.dependent = bean != null && Dependent.class.equals(bean.getScope());
+        }
+
+        void destroy() {
+            if (dependent) {
+                instance.destroy(value);
+            }
+        }
     }
 }
@@ -0,0 +1,21 @@
+package cucumber.runtime.java.weld;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ScenarioScoped
+public class Basket {
+    static final AtomicInteger CREATED = new AtomicInteger();
+    static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final int id = CREATED.incrementAndGet();
+
+    public int getId() {
+        return id;
+    }
+
+    @PreDestroy
+    void destroy() {
+        DESTROYED.incrementAndGet();
+    }
+}
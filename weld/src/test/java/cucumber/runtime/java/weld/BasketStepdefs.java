@@ -0,0 +1,13 @@
+package cucumber.runtime.java.weld;
+
+import javax.inject.Inject;
+
+public class BasketStepdefs {
+
+    @Inject
+    private Basket basket;
+
+    public Basket getBasket() {
+        return basket;
+    }
+}
@@ -0,0 +1,15 @@
+package cucumber.runtime.java.weld;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ApplicationScoped
+public class Shop {
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    private final int id = CREATED.incrementAndGet();
+
+    public int getId() {
+        return id;
+    }
+}
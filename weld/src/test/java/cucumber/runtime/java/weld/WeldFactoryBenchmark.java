@@ -0,0 +1,65 @@
+package cucumber.runtime.java.weld;
+
+import cucumber.runtime.Env;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the Weld container for a scenario that uses two
+ * step definition classes, with a container per scenario and with a container
+ * per run.
+ * <p>
+ * Run the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WeldFactoryBenchmark {
+
+    @Param({"scenario", "run"})
+    public String container;
+
+    private WeldFactory factory;
+
+    @Setup
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(WeldFactory.WELD_CONTAINER_KEY, container);
+        factory = new WeldFactory(new Env(properties));
+        factory.addClass(BellyStepdefs.class);
+        factory.addClass(BasketStepdefs.class);
+    }
+
+    @Benchmark
+    public int scenario() {
+        factory.start();
+        try {
+            factory.getInstance(BellyStepdefs.class);
+            return factory.getInstance(BasketStepdefs.class).getBasket().getId();
+        } finally {
+            factory.stop();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WeldFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
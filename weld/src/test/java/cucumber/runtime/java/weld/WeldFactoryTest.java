@@ -1,10 +1,17 @@
 package cucumber.runtime.java.weld;
 
 import cucumber.api.java.ObjectFactory;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.Env;
 import org.junit.Test;
 
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class WeldFactoryTest {
     @Test
@@ -26,4 +33,55 @@ public class WeldFactoryTest {
         assertNotSame(o1, o2);
     }
 
+    @Test
+    public void gives_new_instances_for_each_scenario_when_the_container_is_started_once_per_run() {
+        ObjectFactory factory = new WeldFactory(env("run"));
+        factory.addClass(BasketStepdefs.class);
+        int destroyed = Basket.DESTROYED.get();
+
+        // Scenario 1
+        factory.start();
+        BasketStepdefs o1 = factory.getInstance(BasketStepdefs.class);
+        assertSame(o1, factory.getInstance(BasketStepdefs.class));
+        int basket1 = o1.getBasket().getId();
+        assertEquals(basket1, factory.getInstance(Basket.class).getId());
+        factory.stop();
+
+        // Scenario 2
+        factory.start();
+        BasketStepdefs o2 = factory.getInstance(BasketStepdefs.class);
+        int basket2 = o2.getBasket().getId();
+        factory.stop();
+
+        assertNotSame(o1, o2);
+        assertTrue(basket1 != basket2);
+        assertEquals(destroyed + 2, Basket.DESTROYED.get());
+    }
+
+    @Test
+    public void shares_the_container_between_runs_when_the_container_is_started_once_per_run() {
+        ObjectFactory factory1 = new WeldFactory(env("run"));
+        ObjectFactory factory2 = new WeldFactory(env("run"));
+
+        factory1.start();
+        int shop1 = factory1.getInstance(Shop.class).getId();
+        factory1.stop();
+
+        factory2.start();
+        int shop2 = factory2.getInstance(Shop.class).getId();
+        factory2.stop();
+
+        assertEquals(shop1, shop2);
+    }
+
+    @Test(expected = CucumberException.class)
+    public void fails_on_unknown_container_lifecycle() {
+        new WeldFactory(env("feature"));
+    }
+
+    private static Env env(String container) {
+        Properties properties = new Properties();
+        properties.setProperty(WeldFactory.WELD_CONTAINER_KEY, container);
+        return new Env(properties);
+    }
 }